@@ -0,0 +1,132 @@
+package searchengine.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class RussianCorpus {
+    private static final String[] FUNCTION_WORDS = {"и", "в", "не", "на", "что", "с", "по", "для", "как", "от",
+            "из", "к", "за", "о", "но", "до", "при", "или", "же", "ли"};
+    private static final String[] NOUN_STEMS = {"сайт", "поиск", "запрос", "документ", "страниц", "текст", "индекс",
+            "слов", "город", "человек", "работ", "систем", "вопрос", "дорог", "книг", "школ", "компани", "проект",
+            "образ", "закон", "рынок", "товар", "цен", "клиент", "магазин", "доставк", "заказ", "услуг", "новост",
+            "стать", "автор", "читател", "библиотек", "музе", "театр", "выставк", "маршрут", "погод", "сезон", "отдых"};
+    private static final String[] NOUN_ENDINGS = {"", "а", "у", "ом", "е", "ы", "ов", "ам", "ами", "ах"};
+    private static final String[] ADJECTIVE_STEMS = {"нов", "больш", "русск", "интересн", "полезн", "быстр",
+            "точн", "современн", "главн", "последн", "открыт", "удобн", "просторн", "городск", "летн", "зимн"};
+    private static final String[] ADJECTIVE_ENDINGS = {"ый", "ая", "ое", "ые", "ого", "ой", "ому", "ым", "ых", "ую"};
+    private static final String[] VERB_STEMS = {"работа", "дела", "чита", "иска", "зна", "дума", "получа",
+            "показыва", "открыва", "начина", "помога", "выбира", "изуча", "находи", "смотре", "говори"};
+    private static final String[] VERB_ENDINGS = {"ть", "ет", "ют", "л", "ла", "ли", "ем", "ешь", "ете", "ю"};
+    private static final String[] PUNCTUATION = {",", ",", ";", " —", ":"};
+
+    private final Random random;
+    private final String[] vocabulary;
+    private final double[] cumulativeWeights;
+
+    public RussianCorpus(long seed) {
+        random = new Random(seed);
+        List<String> forms = new ArrayList<>();
+        addForms(forms, NOUN_STEMS, NOUN_ENDINGS);
+        addForms(forms, ADJECTIVE_STEMS, ADJECTIVE_ENDINGS);
+        addForms(forms, VERB_STEMS, VERB_ENDINGS);
+        Collections.shuffle(forms, random);
+        forms.addAll(0, Arrays.asList(FUNCTION_WORDS));
+        vocabulary = forms.toArray(new String[0]);
+        cumulativeWeights = new double[vocabulary.length];
+        double total = 0;
+        for (int rank = 0; rank < vocabulary.length; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulativeWeights[rank] = total;
+        }
+    }
+
+    private static void addForms(List<String> forms, String[] stems, String[] endings) {
+        for (String stem : stems) {
+            for (String ending : endings) {
+                forms.add(stem + ending);
+            }
+        }
+    }
+
+    public int vocabularySize() {
+        return vocabulary.length;
+    }
+
+    public String word(int rank) {
+        return vocabulary[rank];
+    }
+
+    public String nextWord() {
+        double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int rank = Arrays.binarySearch(cumulativeWeights, point);
+        return vocabulary[rank >= 0 ? rank : Math.min(-rank - 1, vocabulary.length - 1)];
+    }
+
+    public String text(int words) {
+        StringBuilder text = new StringBuilder(words * 8);
+        appendSentences(text, words, false);
+        return text.toString();
+    }
+
+    public String html(int words) {
+        StringBuilder html = new StringBuilder(words * 10 + 512);
+        html.append("<!DOCTYPE html><html lang=\"ru\"><head><meta charset=\"utf-8\"><title>");
+        appendSentence(html, 6, false);
+        html.append("</title></head><body><header><nav>");
+        for (int i = 0; i < 5; i++) {
+            html.append("<a href=\"/").append(nextWord()).append('/').append(i).append("\">")
+                    .append(capitalize(nextWord())).append("</a> ");
+        }
+        html.append("</nav></header><main><h1>");
+        appendSentence(html, 5, false);
+        html.append("</h1>");
+        int written = 0;
+        while (written < words) {
+            int paragraph = Math.min(words - written, 40 + random.nextInt(80));
+            html.append("<p>");
+            appendSentences(html, paragraph, true);
+            html.append("</p>\n");
+            written += paragraph;
+        }
+        html.append("</main><footer>© ").append(capitalize(nextWord())).append(" 2022</footer></body></html>");
+        return html.toString();
+    }
+
+    private void appendSentences(StringBuilder target, int words, boolean markup) {
+        int written = 0;
+        while (written < words) {
+            int sentence = Math.min(words - written, 6 + random.nextInt(14));
+            if (written > 0) {
+                target.append(' ');
+            }
+            appendSentence(target, sentence, markup);
+            target.append('.');
+            written += sentence;
+        }
+    }
+
+    private void appendSentence(StringBuilder target, int words, boolean markup) {
+        for (int i = 0; i < words; i++) {
+            String word = nextWord();
+            if (i == 0) {
+                target.append(capitalize(word));
+            } else {
+                target.append(random.nextInt(12) == 0 ? PUNCTUATION[random.nextInt(PUNCTUATION.length)] + " " : " ");
+                if (markup && random.nextInt(25) == 0) {
+                    target.append("<a href=\"/").append(word).append("\">").append(word).append("</a>");
+                } else if (markup && random.nextInt(40) == 0) {
+                    target.append("<b>").append(word).append("</b>");
+                } else {
+                    target.append(word);
+                }
+            }
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,85 @@
+package searchengine.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import searchengine.dto.search.RankingResult;
+import searchengine.utilities.PostingIntersection;
+import searchengine.utilities.PostingList;
+import searchengine.utilities.RussianWordTokenizer;
+import searchengine.utilities.TopKRanker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    private static final int WORDS_PER_PAGE = 150;
+    private static final int LIMIT = 20;
+    private static final Map<String, int[]> QUERY_RANKS = Map.of(
+            "frequent", new int[]{20, 21, 22},
+            "mixed", new int[]{20, 80, 400},
+            "rare", new int[]{300, 500, 700});
+
+    @Param({"1000", "10000", "100000"})
+    private int pages;
+
+    @Param({"frequent", "mixed", "rare"})
+    private String query;
+
+    private List<PostingList> postingLists;
+    private int[] pageIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RussianCorpus corpus = new RussianCorpus(42);
+        Map<String, PostingList> postings = new HashMap<>();
+        for (int pageId = 1; pageId <= pages; pageId++) {
+            Map<String, int[]> counts = new HashMap<>();
+            RussianWordTokenizer.tokenize(corpus.text(WORDS_PER_PAGE),
+                    (word, position, start, end) -> counts.computeIfAbsent(word, w -> new int[1])[0]++);
+            for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), w -> new PostingList()).add(pageId, entry.getValue()[0]);
+            }
+        }
+        postingLists = new ArrayList<>();
+        for (int rank : QUERY_RANKS.get(query)) {
+            PostingList postingList = postings.getOrDefault(corpus.word(rank), new PostingList());
+            postingList.trimToSize();
+            postingLists.add(postingList);
+        }
+        pageIds = PostingIntersection.intersect(postingLists);
+    }
+
+    @Benchmark
+    public int[] intersect() {
+        return PostingIntersection.intersect(postingLists);
+    }
+
+    @Benchmark
+    public RankingResult rank() {
+        return TopKRanker.rank(pageIds, postingLists, 0, LIMIT);
+    }
+
+    @Benchmark
+    public RankingResult intersectAndRank() {
+        return TopKRanker.rank(PostingIntersection.intersect(postingLists), postingLists, 0, LIMIT);
+    }
+}
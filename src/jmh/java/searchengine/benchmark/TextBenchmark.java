@@ -0,0 +1,112 @@
+package searchengine.benchmark;
+
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import searchengine.utilities.LemmaFinder;
+import searchengine.utilities.RussianWordTokenizer;
+import searchengine.utilities.SnippetBuilder;
+import searchengine.utilities.TextExtractor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TextBenchmark {
+    private static final int DOCUMENTS = 16;
+    private static final int[] QUERY_RANKS = {25, 60, 200};
+
+    @Param({"200", "2000", "20000"})
+    private int words;
+
+    private String[] htmls;
+    private String[] texts;
+    private List<List<int[]>> queryPositions;
+    private LemmaFinder lemmaFinder;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        RussianCorpus corpus = new RussianCorpus(42);
+        htmls = new String[DOCUMENTS];
+        texts = new String[DOCUMENTS];
+        queryPositions = new ArrayList<>();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            htmls[i] = corpus.html(words);
+            texts[i] = TextExtractor.extractText(Jsoup.parse(htmls[i]));
+            queryPositions.add(findPositions(corpus, texts[i]));
+        }
+        lemmaFinder = LemmaFinder.getInstance();
+        for (String text : texts) {
+            lemmaFinder.collectLemmas(text);
+        }
+    }
+
+    private static List<int[]> findPositions(RussianCorpus corpus, String text) {
+        List<int[]> positions = new ArrayList<>();
+        for (int rank : QUERY_RANKS) {
+            String query = corpus.word(rank);
+            List<Integer> found = new ArrayList<>();
+            RussianWordTokenizer.tokenize(text, (word, position, start, end) -> {
+                if (word.equals(query)) {
+                    found.add(position);
+                }
+            });
+            if (!found.isEmpty()) {
+                positions.add(found.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+        return positions;
+    }
+
+    private int nextDocument() {
+        int document = next;
+        next = (next + 1) % DOCUMENTS;
+        return document;
+    }
+
+    @Benchmark
+    public String extractText() {
+        return TextExtractor.extractText(Jsoup.parse(htmls[nextDocument()]));
+    }
+
+    @Benchmark
+    public int tokenize(Blackhole blackhole) {
+        return RussianWordTokenizer.tokenize(texts[nextDocument()],
+                (word, position, start, end) -> blackhole.consume(word));
+    }
+
+    @Benchmark
+    public Map<String, Integer> collectLemmas() {
+        return lemmaFinder.collectLemmas(texts[nextDocument()]);
+    }
+
+    @Benchmark
+    public Map<String, int[]> collectLemmaPositions() {
+        return lemmaFinder.collectLemmaPositions(texts[nextDocument()]);
+    }
+
+    @Benchmark
+    public String buildSnippet() {
+        int document = nextDocument();
+        return SnippetBuilder.build(texts[document], queryPositions.get(document));
+    }
+}
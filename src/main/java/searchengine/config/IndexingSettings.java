@@ -0,0 +1,28 @@
+package searchengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "indexing-settings")
+public class IndexingSettings {
+    private int pageBatchSize = 50;
+    private int indexBatchSize = 1000;
+    private int queueCapacity = 100;
+    private int extractThreads = 2;
+    private int maxConnections = 32;
+    private int connectionsPerHost = 4;
+    private long politenessDelay = 150;
+    private int frontierMemoryLimit = 10_000;
+    private String frontierSpillDirectory = System.getProperty("java.io.tmpdir") + "/searchengine-frontier";
+    private String checkpointDirectory = "checkpoints";
+    private long checkpointInterval = 60_000;
+    private int purgeBatchSize = 500;
+    private long counterReconcileInterval = 30_000;
+    private int lemmatizeThreads = Runtime.getRuntime().availableProcessors();
+    private int persistThreads = 2;
+}
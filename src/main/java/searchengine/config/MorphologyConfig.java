@@ -0,0 +1,16 @@
+package searchengine.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import searchengine.utilities.LemmaFinder;
+
+import java.io.IOException;
+
+@Configuration
+public class MorphologyConfig {
+
+    @Bean
+    public LemmaFinder lemmaFinder() throws IOException {
+        return LemmaFinder.getInstance();
+    }
+}
@@ -3,9 +3,15 @@ package searchengine.config;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Setter
 @Getter
 public class SiteUrlName {
     private String url;
     private String name;
+    private boolean allowQuery = false;
+    private List<String> include = new ArrayList<>();
+    private List<String> exclude = new ArrayList<>();
 }
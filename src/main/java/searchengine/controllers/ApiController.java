@@ -28,8 +28,12 @@ public class ApiController {
         return ResponseEntity.ok(statisticsService.getStatistics());
     }
     @GetMapping("/startIndexing")
-    public ResponseEntity<Response> startIndexing() {
-        return indexingService.indexingAll();
+    public ResponseEntity<Response> startIndexing(@RequestParam(name = "resume", required = false, defaultValue = "false") boolean resume,
+                                                  @RequestParam(name = "recrawl", required = false, defaultValue = "false") boolean recrawl) {
+        if (resume) {
+            return indexingService.resumeIndexing();
+        }
+        return recrawl ? indexingService.recrawlAll() : indexingService.indexingAll();
     }
 
     @GetMapping("/stopIndexing")
@@ -0,0 +1,32 @@
+package searchengine.dto.crawl;
+
+import lombok.Data;
+import org.jsoup.nodes.Document;
+
+import java.util.Map;
+
+@Data
+public class FetchResult {
+    private String url;
+    private int statusCode;
+    private String contentType;
+    private Map<String, String> headers;
+    private String etag;
+    private String lastModified;
+    private Document document;
+
+    public FetchResult(String url, int statusCode, String contentType, Map<String, String> headers) {
+        this.url = url;
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+        this.headers = headers;
+    }
+
+    public boolean isNotModified() {
+        return statusCode == 304;
+    }
+
+    public boolean isHtml() {
+        return document != null;
+    }
+}
@@ -0,0 +1,14 @@
+package searchengine.dto.crawl;
+
+import lombok.Data;
+
+@Data
+public class FrontierEntry {
+    private String url;
+    private int depth;
+
+    public FrontierEntry(String url, int depth) {
+        this.url = url;
+        this.depth = depth;
+    }
+}
@@ -0,0 +1,10 @@
+package searchengine.dto.crawl;
+
+public interface PageState {
+    int getId();
+    String getPath();
+    int getCode();
+    String getEtag();
+    String getLastModified();
+    String getContentHash();
+}
@@ -0,0 +1,18 @@
+package searchengine.dto.index;
+
+import lombok.Data;
+
+@Data
+public class IndexRow {
+    private int pageId;
+    private int lemmaId;
+    private int rank;
+    private byte[] positions;
+
+    public IndexRow(int pageId, int lemmaId, int rank, byte[] positions) {
+        this.pageId = pageId;
+        this.lemmaId = lemmaId;
+        this.rank = rank;
+        this.positions = positions;
+    }
+}
@@ -0,0 +1,7 @@
+package searchengine.dto.index;
+
+public interface LemmaEntry {
+    int getId();
+    String getLemma();
+    int getFrequency();
+}
@@ -0,0 +1,7 @@
+package searchengine.dto.index;
+
+public interface LemmaPositions {
+    int getPageId();
+    String getLemma();
+    byte[] getPositions();
+}
@@ -0,0 +1,8 @@
+package searchengine.dto.index;
+
+public interface PageMeta {
+    int getId();
+    int getSiteId();
+    String getPath();
+    String getTitle();
+}
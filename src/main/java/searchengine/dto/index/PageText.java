@@ -0,0 +1,6 @@
+package searchengine.dto.index;
+
+public interface PageText {
+    int getPageId();
+    byte[] getText();
+}
@@ -0,0 +1,7 @@
+package searchengine.dto.index;
+
+public interface PostingEntry {
+    String getLemma();
+    int getPageId();
+    int getRank();
+}
@@ -0,0 +1,16 @@
+package searchengine.dto.index;
+
+import lombok.Data;
+
+@Data
+public class PostingRow {
+    private int lemmaId;
+    private int pageId;
+    private int rank;
+
+    public PostingRow(int lemmaId, int pageId, int rank) {
+        this.lemmaId = lemmaId;
+        this.pageId = pageId;
+        this.rank = rank;
+    }
+}
@@ -0,0 +1,16 @@
+package searchengine.dto.search;
+
+import lombok.Data;
+
+@Data
+public class RankedPage {
+    private int pageId;
+    private int siteId;
+    private float absRelevance;
+    private float relevance;
+
+    public RankedPage(int pageId, float absRelevance) {
+        this.pageId = pageId;
+        this.absRelevance = absRelevance;
+    }
+}
@@ -0,0 +1,18 @@
+package searchengine.dto.search;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RankingResult {
+    private List<RankedPage> pages;
+    private int count;
+    private float maxAbsRelevance;
+
+    public RankingResult(List<RankedPage> pages, int count, float maxAbsRelevance) {
+        this.pages = pages;
+        this.count = count;
+        this.maxAbsRelevance = maxAbsRelevance;
+    }
+}
@@ -1,5 +1,6 @@
 package searchengine.dto.search;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import searchengine.dto.Response;
@@ -11,6 +12,8 @@ import java.util.List;
 public class SearchResponse extends Response {
     private int count;
     private List<SearchResponseData> data;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
 
     public SearchResponse(List<SearchResponseData> searchResponseDataList, int count) {
         this.data = searchResponseDataList;
@@ -25,6 +25,8 @@ public class Index {
     private Lemma lemma;
     @Column(name = "`rank`", nullable = false)
     private int rank;
+    @Column(columnDefinition = "blob")
+    private byte[] positions;
 
     public Index(Page page, Lemma lemma, int rank) {
         this.page = page;
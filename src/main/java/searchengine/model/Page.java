@@ -4,12 +4,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import searchengine.utilities.FingerprintSet;
 
 import javax.persistence.*;
 import java.io.Serializable;
 
 @Entity
-@Table(name = "page")
+@Table(name = "page",
+        indexes = {@javax.persistence.Index(columnList = "site_id, path_hash",
+                name = "KEY_page_site_path_hash")})
 @Data
 @NoArgsConstructor
 public class Page implements Serializable {
@@ -22,10 +25,26 @@ public class Page implements Serializable {
     private Site site;
     @Column(columnDefinition = "text", nullable = false)
     private String path;
+    @Column(name = "path_hash")
+    private Long pathHash;
     @Column(nullable = false)
     private int code;
-    @Column(columnDefinition = "mediumtext", nullable = false)
-    private String content;
+    @Column(columnDefinition = "varchar(255)")
+    private String title;
+    @Transient
+    private String text;
+    @Column(columnDefinition = "varchar(255)")
+    private String etag;
+    @Column(name = "last_modified", columnDefinition = "varchar(64)")
+    private String lastModified;
+    @Column(name = "content_hash", columnDefinition = "char(64)")
+    private String contentHash;
+
+    @PrePersist
+    @PreUpdate
+    private void updatePathHash() {
+        pathHash = FingerprintSet.fingerprint(path);
+    }
 
     @Override
     public int hashCode() {
@@ -37,10 +56,9 @@ public class Page implements Serializable {
         return "id: " + id + ", siteId: " + site.getId() + ", path: " + path;
     }
 
-    public Page(Site site, String path, int code, String content) {
+    public Page(Site site, String path, int code) {
         this.site = site;
         this.path = path;
         this.code = code;
-        this.content = content;
     }
 }
@@ -0,0 +1,40 @@
+package searchengine.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "page_content")
+@Data
+@NoArgsConstructor
+public class PageContent {
+    @Id
+    @Column(name = "page_id")
+    private int pageId;
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "page_id", foreignKey = @ForeignKey(name = "FK_page_content_page"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Page page;
+    @Column(columnDefinition = "mediumblob")
+    private byte[] text;
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof PageContent && ((PageContent) obj).pageId == pageId;
+    }
+
+    @Override
+    public int hashCode() {
+        return pageId;
+    }
+
+    @Override
+    public String toString() {
+        return "pageId: " + pageId;
+    }
+}
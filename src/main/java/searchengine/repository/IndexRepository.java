@@ -4,14 +4,27 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import searchengine.dto.index.LemmaPositions;
+import searchengine.dto.index.PostingEntry;
+import searchengine.dto.index.PostingRow;
 import searchengine.model.Index;
 import searchengine.model.Site;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IndexRepository extends JpaRepository<Index, Integer>{
-    @Query(value = "select i from Index i join Page p " +
-            "on p.site = :site and i.page = p")
-    List<Index> findAllBySite(@Param("site") Site site);
+    @Query(value = "select l.lemma as lemma, i.page.id as pageId, i.rank as rank " +
+            "from Index i join i.lemma l where l.site = :site order by i.page.id")
+    List<PostingEntry> findPostingsBySite(@Param("site") Site site);
+
+    @Query(value = "select new searchengine.dto.index.PostingRow(i.lemma.id, i.page.id, i.rank) " +
+            "from Index i where i.lemma.id in :lemmaIds order by i.page.id")
+    List<PostingRow> findPostingsByLemmaIds(@Param("lemmaIds") Collection<Integer> lemmaIds);
+
+    @Query(value = "select i.page.id as pageId, l.lemma as lemma, i.positions as positions " +
+            "from Index i join i.lemma l where i.page.id in :pageIds and l.id in :lemmaIds")
+    List<LemmaPositions> findPositions(@Param("pageIds") Collection<Integer> pageIds,
+                                       @Param("lemmaIds") Collection<Integer> lemmaIds);
 }
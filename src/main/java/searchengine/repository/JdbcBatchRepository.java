@@ -0,0 +1,204 @@
+package searchengine.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import searchengine.dto.index.IndexRow;
+import searchengine.model.Page;
+import searchengine.utilities.ContentCodec;
+import searchengine.utilities.FingerprintSet;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.*;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcBatchRepository {
+    private static final String INSERT_PAGE = "insert into page (site_id, path, path_hash, code, title, " +
+            "etag, last_modified, content_hash) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_PAGE = "update page set code = ?, title = ?, " +
+            "etag = ?, last_modified = ?, content_hash = ? where id = ?";
+    private static final String UPSERT_PAGE_CONTENT = "insert into page_content (page_id, text) values (?, ?) " +
+            "on duplicate key update text = values(text)";
+    private static final String UPDATE_PAGE_HEADERS = "update page set code = ?, etag = ?, last_modified = ? where id = ?";
+    private static final String UPSERT_LEMMA = "insert into lemma (lemma, frequency, site_id) values (?, ?, ?) " +
+            "on duplicate key update frequency = frequency + values(frequency)";
+    private static final String INSERT_INDEX = "insert into `index` (page_id, lemma_id, `rank`, positions) " +
+            "values (?, ?, ?, ?)";
+    private static final String SELECT_PAGE_LEMMAS = "select i.page_id, l.lemma from `index` i " +
+            "join lemma l on l.id = i.lemma_id where i.page_id in (:pageIds)";
+    private static final String DECREMENT_LEMMAS = "update lemma l join (select lemma_id, count(*) pages " +
+            "from `index` where page_id in (:pageIds) group by lemma_id) i on l.id = i.lemma_id " +
+            "set l.frequency = l.frequency - i.pages";
+    private static final String DELETE_INDICES = "delete from `index` where page_id in (:pageIds)";
+    private static final String COUNT_PAGES = "select count(*) from page where site_id = ?";
+    private static final String COUNT_LEMMAS = "select count(*) from lemma where site_id = ?";
+    private static final String SELECT_PAGE_ID_RANGE = "select min(id), max(id) from page where site_id = ?";
+    private static final String SELECT_LEMMA_ID_RANGE = "select min(id), max(id) from lemma where site_id = ?";
+    private static final String DELETE_PAGE_INDICES = "delete i from `index` i join page p on p.id = i.page_id " +
+            "where p.site_id = ? and p.id between ? and ?";
+    private static final String DELETE_PAGES = "delete from page where site_id = ? and id between ? and ?";
+    private static final String DELETE_LEMMAS = "delete from lemma where site_id = ? and id between ? and ?";
+    private static final String DELETE_SITE = "delete from site where id = ?";
+    private static final String SELECT_LEMMA_IDS = "select id, lemma from lemma " +
+            "where site_id = :siteId and lemma in (:lemmas)";
+    private static final String SELECT_LEMMA_ID = "select id from lemma where site_id = ? and lemma = ?";
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void insertPages(List<Page> pages) {
+        if (pages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_PAGE, Statement.RETURN_GENERATED_KEYS)) {
+                for (Page page : pages) {
+                    ps.setInt(1, page.getSite().getId());
+                    ps.setString(2, page.getPath());
+                    ps.setLong(3, FingerprintSet.fingerprint(page.getPath()));
+                    ps.setInt(4, page.getCode());
+                    ps.setString(5, page.getTitle());
+                    ps.setString(6, page.getEtag());
+                    ps.setString(7, page.getLastModified());
+                    ps.setString(8, page.getContentHash());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int i = 0; i < pages.size() && keys.next(); i++) {
+                        pages.get(i).setId(keys.getInt(1));
+                    }
+                }
+            }
+            return null;
+        });
+        upsertPageContents(pages);
+    }
+
+    public void updatePages(List<Page> pages) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_PAGE, pages, pages.size(), (ps, page) -> {
+            ps.setInt(1, page.getCode());
+            ps.setString(2, page.getTitle());
+            ps.setString(3, page.getEtag());
+            ps.setString(4, page.getLastModified());
+            ps.setString(5, page.getContentHash());
+            ps.setInt(6, page.getId());
+        });
+        upsertPageContents(pages);
+    }
+
+    private void upsertPageContents(List<Page> pages) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_PAGE_CONTENT, pages, pages.size(), (ps, page) -> {
+            ps.setInt(1, page.getId());
+            ps.setBytes(2, ContentCodec.compress(page.getText()));
+        });
+    }
+
+    public void updatePageHeaders(List<Page> pages) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_PAGE_HEADERS, pages, pages.size(), (ps, page) -> {
+            ps.setInt(1, page.getCode());
+            ps.setString(2, page.getEtag());
+            ps.setString(3, page.getLastModified());
+            ps.setInt(4, page.getId());
+        });
+    }
+
+    public void upsertLemmas(int siteId, Map<String, Integer> frequencyIncrements) {
+        List<String> sortedLemmas = new ArrayList<>(frequencyIncrements.keySet());
+        Collections.sort(sortedLemmas);
+        List<Object[]> batchArgs = new ArrayList<>(sortedLemmas.size());
+        for (String lemma : sortedLemmas) {
+            batchArgs.add(new Object[]{lemma, frequencyIncrements.get(lemma), siteId});
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_LEMMA, batchArgs);
+    }
+
+    public Map<String, Integer> findLemmaIds(int siteId, Collection<String> lemmas) {
+        Map<String, Integer> lemmaIds = new HashMap<>();
+        if (lemmas.isEmpty()) {
+            return lemmaIds;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("siteId", siteId)
+                .addValue("lemmas", lemmas);
+        jdbcTemplate.query(SELECT_LEMMA_IDS, parameters,
+                rs -> {
+                    lemmaIds.put(rs.getString("lemma"), rs.getInt("id"));
+                });
+        return lemmaIds;
+    }
+
+    public Integer findLemmaId(int siteId, String lemma) {
+        List<Integer> ids = jdbcTemplate.getJdbcTemplate().queryForList(SELECT_LEMMA_ID, Integer.class, siteId, lemma);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    public Map<Integer, List<String>> findPageLemmas(Collection<Integer> pageIds) {
+        Map<Integer, List<String>> pageLemmas = new HashMap<>();
+        if (pageIds.isEmpty()) {
+            return pageLemmas;
+        }
+        jdbcTemplate.query(SELECT_PAGE_LEMMAS, new MapSqlParameterSource("pageIds", pageIds),
+                rs -> {
+                    pageLemmas.computeIfAbsent(rs.getInt("page_id"), id -> new ArrayList<>()).add(rs.getString("lemma"));
+                });
+        return pageLemmas;
+    }
+
+    public void deleteIndicesDecreaseFrequency(Collection<Integer> pageIds) {
+        if (pageIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("pageIds", pageIds);
+        jdbcTemplate.update(DECREMENT_LEMMAS, parameters);
+        jdbcTemplate.update(DELETE_INDICES, parameters);
+    }
+
+    public int countPages(int siteId) {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(COUNT_PAGES, Integer.class, siteId);
+    }
+
+    public int countLemmas(int siteId) {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(COUNT_LEMMAS, Integer.class, siteId);
+    }
+
+    public int[] findPageIdRange(int siteId) {
+        return findIdRange(SELECT_PAGE_ID_RANGE, siteId);
+    }
+
+    public int[] findLemmaIdRange(int siteId) {
+        return findIdRange(SELECT_LEMMA_ID_RANGE, siteId);
+    }
+
+    public int deletePages(int siteId, int fromId, int toId) {
+        int indices = jdbcTemplate.getJdbcTemplate().update(DELETE_PAGE_INDICES, siteId, fromId, toId);
+        return indices + jdbcTemplate.getJdbcTemplate().update(DELETE_PAGES, siteId, fromId, toId);
+    }
+
+    public int deleteLemmas(int siteId, int fromId, int toId) {
+        return jdbcTemplate.getJdbcTemplate().update(DELETE_LEMMAS, siteId, fromId, toId);
+    }
+
+    public void deleteSite(int siteId) {
+        jdbcTemplate.getJdbcTemplate().update(DELETE_SITE, siteId);
+    }
+
+    private int[] findIdRange(String sql, int siteId) {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(sql, (rs, rowNum) -> {
+            int min = rs.getInt(1);
+            return rs.wasNull() ? null : new int[]{min, rs.getInt(2)};
+        }, siteId);
+    }
+
+    public void insertIndices(List<IndexRow> rows, int batchSize) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_INDEX, rows, batchSize, (ps, row) -> {
+            ps.setInt(1, row.getPageId());
+            ps.setInt(2, row.getLemmaId());
+            ps.setInt(3, row.getRank());
+            ps.setBytes(4, row.getPositions());
+        });
+    }
+}
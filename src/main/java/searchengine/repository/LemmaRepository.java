@@ -1,14 +1,20 @@
 package searchengine.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import searchengine.dto.index.LemmaEntry;
 import searchengine.model.Lemma;
 import searchengine.model.Site;
+
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface LemmaRepository extends JpaRepository<Lemma, Integer> {
 
-    List<Lemma> findAllBySite(Site site);
-
+    @Query("select l.id as id, l.lemma as lemma, l.frequency as frequency from Lemma l " +
+            "where l.site = :site and l.lemma in :lemmas")
+    List<LemmaEntry> findEntries(@Param("site") Site site, @Param("lemmas") Collection<String> lemmas);
 }
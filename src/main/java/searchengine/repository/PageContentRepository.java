@@ -0,0 +1,17 @@
+package searchengine.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import searchengine.dto.index.PageText;
+import searchengine.model.PageContent;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PageContentRepository extends JpaRepository<PageContent, Integer> {
+    @Query("select c.pageId as pageId, c.text as text from PageContent c where c.pageId in :pageIds")
+    List<PageText> findTexts(@Param("pageIds") Collection<Integer> pageIds);
+}
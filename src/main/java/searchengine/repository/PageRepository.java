@@ -1,15 +1,35 @@
 package searchengine.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import searchengine.dto.crawl.PageState;
+import searchengine.dto.index.PageMeta;
 import searchengine.model.Page;
 import searchengine.model.Site;
+import searchengine.utilities.FingerprintSet;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PageRepository extends JpaRepository<Page, Integer> {
-    Integer countBySite(Site site);
+    @Query("select p.id from Page p where p.site = :site and p.pathHash = :pathHash and p.path = :path")
+    List<Integer> findIdsBySiteAndPathHash(@Param("site") Site site, @Param("pathHash") long pathHash,
+                                           @Param("path") String path);
 
-    List<Page> findAllBySiteAndPathAndCode(Site site, String path, int code);
+    default List<Integer> findIdsBySiteAndPath(Site site, String path) {
+        return findIdsBySiteAndPathHash(site, FingerprintSet.fingerprint(path), path);
+    }
+
+    @Query("select p.id as id, p.site.id as siteId, p.path as path, p.title as title from Page p where p.id in :ids")
+    List<PageMeta> findMetaByIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("select p.path from Page p where p.site = :site")
+    List<String> findPathsBySite(@Param("site") Site site);
+
+    @Query("select p.id as id, p.path as path, p.code as code, p.etag as etag, " +
+            "p.lastModified as lastModified, p.contentHash as contentHash from Page p where p.site = :site")
+    List<PageState> findStatesBySite(@Param("site") Site site);
 }
@@ -0,0 +1,33 @@
+package searchengine.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class SchemaMigration {
+    private static final Map<String, List<String>> OBSOLETE_COLUMNS = Map.of(
+            "page", List.of("content", "text"),
+            "page_content", List.of("content"));
+    private static final String SELECT_COLUMN = "select count(*) from information_schema.columns " +
+            "where table_schema = database() and table_name = ? and column_name = ?";
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void dropObsoleteColumns() {
+        OBSOLETE_COLUMNS.forEach((table, columns) -> {
+            for (String column : columns) {
+                Integer count = jdbcTemplate.queryForObject(SELECT_COLUMN, Integer.class, table, column);
+                if (count != null && count > 0) {
+                    jdbcTemplate.execute("alter table `" + table + "` drop column `" + column + "`");
+                    System.out.println("Удалён устаревший столбец " + table + "." + column);
+                }
+            }
+        });
+    }
+}
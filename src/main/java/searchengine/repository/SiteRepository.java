@@ -1,18 +1,22 @@
 package searchengine.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import searchengine.model.Site;
 
-import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SiteRepository extends JpaRepository<Site, Integer> {
     Optional<Site> findByUrlAndType(String url, String type);
-    Optional<Site> findByUrl(String url);
+    List<Site> findAllByUrlOrderByIdDesc(String url);
     List<Site> findAllByType(String type);
-    @Transactional
-    void deleteByType(String type);
+
+    @Modifying
+    @Query("update Site s set s.type = :type where s.url = :url and s.id <> :id and s.type <> :type")
+    int retireOtherGenerations(@Param("url") String url, @Param("id") int id, @Param("type") String type);
 }
@@ -0,0 +1,93 @@
+package searchengine.services;
+
+import org.springframework.stereotype.Service;
+import searchengine.config.IndexingSettings;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Service
+public class FetchScheduler {
+    private final IndexingSettings indexingSettings;
+    private final ExecutorService fetchPool;
+    private final ScheduledExecutorService delayTimer;
+    private final Map<String, HostSlot> hostSlots = new ConcurrentHashMap<>();
+
+    public FetchScheduler(IndexingSettings indexingSettings) {
+        this.indexingSettings = indexingSettings;
+        AtomicInteger threadNumber = new AtomicInteger();
+        fetchPool = Executors.newFixedThreadPool(indexingSettings.getMaxConnections(), runnable -> {
+            Thread thread = new Thread(runnable, "fetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        delayTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fetch-delay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> CompletableFuture<T> submit(String host, Supplier<T> fetch) {
+        HostSlot hostSlot = hostSlots.computeIfAbsent(host, h -> new HostSlot());
+        CompletableFuture<T> result = new CompletableFuture<>();
+        synchronized (hostSlot) {
+            hostSlot.pending.add(() -> {
+                try {
+                    result.complete(fetch.get());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+        dispatch(hostSlot);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        delayTimer.shutdownNow();
+        fetchPool.shutdownNow();
+    }
+
+    private void dispatch(HostSlot hostSlot) {
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(indexingSettings.getPolitenessDelay());
+        synchronized (hostSlot) {
+            while (hostSlot.active < indexingSettings.getConnectionsPerHost() && !hostSlot.pending.isEmpty()) {
+                Runnable fetch = hostSlot.pending.poll();
+                hostSlot.active++;
+                long now = System.nanoTime();
+                long requestTime = Math.max(now, hostSlot.nextRequestTime);
+                hostSlot.nextRequestTime = requestTime + delayNanos;
+                Runnable task = () -> run(hostSlot, fetch);
+                if (requestTime > now) {
+                    delayTimer.schedule(() -> fetchPool.execute(task), requestTime - now, TimeUnit.NANOSECONDS);
+                } else {
+                    fetchPool.execute(task);
+                }
+            }
+        }
+    }
+
+    private void run(HostSlot hostSlot, Runnable fetch) {
+        try {
+            fetch.run();
+        } finally {
+            synchronized (hostSlot) {
+                hostSlot.active--;
+            }
+            dispatch(hostSlot);
+        }
+    }
+
+    private static class HostSlot {
+        private final Queue<Runnable> pending = new ArrayDeque<>();
+        private int active;
+        private long nextRequestTime = System.nanoTime();
+    }
+}
@@ -0,0 +1,122 @@
+package searchengine.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import searchengine.config.SiteUrlName;
+import searchengine.model.Site;
+import searchengine.repository.SiteRepository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@RequiredArgsConstructor
+public class IndexGenerations {
+    private final SiteRepository siteRepository;
+    private final SitePurger sitePurger;
+    private final InvertedIndex invertedIndex;
+    private final SearchCache searchCache;
+    private final TransactionTemplate transactionTemplate;
+    private ExecutorService collector;
+
+    @PostConstruct
+    public void init() {
+        collector = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "index-generation-collector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        collectGarbage();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        collector.shutdownNow();
+    }
+
+    public Optional<Site> findLive(String url) {
+        return siteRepository.findByUrlAndType(url, Site.Type.INDEXED.name());
+    }
+
+    public Optional<Site> findBuilding(String url) {
+        return siteRepository.findAllByUrlOrderByIdDesc(url).stream()
+                .filter(site -> site.getType().equals(Site.Type.INDEXING.name())
+                        || site.getType().equals(Site.Type.FAILED.name()))
+                .findFirst();
+    }
+
+    public Map<String, Site> findCurrentByUrl() {
+        Map<String, Site> current = new HashMap<>();
+        for (Site site : siteRepository.findAll()) {
+            if (site.getType().equals(Site.Type.REMOVING.name())) {
+                continue;
+            }
+            current.merge(site.getUrl(), site, IndexGenerations::newerGeneration);
+        }
+        return current;
+    }
+
+    private static Site newerGeneration(Site first, Site second) {
+        boolean firstLive = first.getType().equals(Site.Type.INDEXED.name());
+        boolean secondLive = second.getType().equals(Site.Type.INDEXED.name());
+        if (firstLive != secondLive) {
+            return firstLive ? second : first;
+        }
+        return first.getId() > second.getId() ? first : second;
+    }
+
+    public Site createGeneration(SiteUrlName siteUrlName) {
+        Optional<Site> building = findBuilding(siteUrlName.getUrl());
+        if (building.isPresent()) {
+            building.get().setType(Site.Type.REMOVING.name());
+            siteRepository.saveAndFlush(building.get());
+            collectGarbage();
+        }
+        Site site = new Site();
+        site.setName(siteUrlName.getName());
+        site.setUrl(siteUrlName.getUrl());
+        site.setStatusTime(LocalDateTime.now());
+        site.setType(Site.Type.INDEXING.name());
+        siteRepository.saveAndFlush(site);
+        return site;
+    }
+
+    public void publish(Site site) {
+        List<Site> previous = siteRepository.findAllByUrlOrderByIdDesc(site.getUrl());
+        transactionTemplate.executeWithoutResult(status -> {
+            siteRepository.retireOtherGenerations(site.getUrl(), site.getId(), Site.Type.REMOVING.name());
+            site.setType(Site.Type.INDEXED.name());
+            siteRepository.saveAndFlush(site);
+        });
+        searchCache.invalidate(site.getUrl());
+        for (Site generation : previous) {
+            if (generation.getId() != site.getId()) {
+                invertedIndex.removeSite(generation.getId());
+            }
+        }
+        invertedIndex.warmUp(site);
+        if (previous.size() > 1) {
+            collectGarbage();
+        }
+    }
+
+    public void collectGarbage() {
+        collector.execute(() -> {
+            for (Site site : siteRepository.findAllByType(Site.Type.REMOVING.name())) {
+                try {
+                    sitePurger.purge(site);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+}
@@ -6,11 +6,17 @@ import searchengine.model.Page;
 import searchengine.model.Site;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
 
 public interface IndexingService {
     ResponseEntity<Response> indexingAll();
+    ResponseEntity<Response> resumeIndexing();
+    ResponseEntity<Response> recrawlAll();
     ResponseEntity<Response> stopIndexing();
 
     ResponseEntity<Response> indexPage(String url) throws IOException;
     void createLemmasAndIndices(Site site, Page page) throws IOException;
+    void saveLemmasAndIndices(Site site, Map<Page, Map<String, int[]>> pageLemmaPositions);
+    void removeLemmasAndIndices(Site site, Collection<Integer> pageIds);
 }
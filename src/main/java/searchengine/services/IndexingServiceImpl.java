@@ -1,23 +1,29 @@
 package searchengine.services;
 
 import lombok.RequiredArgsConstructor;
-import org.jsoup.Connection;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import searchengine.config.IndexingSettings;
 import searchengine.config.SiteUrlName;
 import searchengine.config.SitesList;
 import searchengine.dto.ErrorResponse;
 import searchengine.dto.Response;
-import searchengine.model.Index;
-import searchengine.model.Lemma;
+import searchengine.dto.crawl.FetchResult;
+import searchengine.dto.index.IndexRow;
 import searchengine.model.Page;
 import searchengine.model.Site;
 import searchengine.repository.*;
+import searchengine.utilities.CrawlCheckpoint;
+import searchengine.utilities.IndexingPipeline;
 import searchengine.utilities.LemmaFinder;
 import searchengine.utilities.LinkExecutor;
+import searchengine.utilities.PageFetcher;
+import searchengine.utilities.PositionCodec;
+import searchengine.utilities.TextExtractor;
+import searchengine.utilities.UrlFilter;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -27,15 +33,26 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
 public class IndexingServiceImpl implements IndexingService {
+    private static final int LEMMA_UPSERT_ATTEMPTS = 5;
     public final SitesList sites;
     private final SiteRepository siteRepository;
     private final PageRepository pageRepository;
-    private final LemmaRepository lemmaRepository;
-    private final IndexRepository indexRepository;
+    private final InvertedIndex invertedIndex;
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final PageBatchWriter pageBatchWriter;
+    private final FetchScheduler fetchScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexingSettings indexingSettings;
+    private final IndexGenerations indexGenerations;
+    private final SearchCache searchCache;
+    private final SiteCounters siteCounters;
+    private final LemmaIdCache lemmaIdCache;
+    private final PipelineExecutors pipelineExecutors;
     private static ExecutorService executorService;
     public static final ConcurrentHashMap<String, Site> sitesInProcessingIndexing = new ConcurrentHashMap<>();
     public volatile boolean stoppedByUser = false;
@@ -47,20 +64,76 @@ public class IndexingServiceImpl implements IndexingService {
             return new ResponseEntity<>(new ErrorResponse("Индексация уже запущена"), HttpStatus.BAD_REQUEST);
         }
         stoppedByUser = false;
-        indexRepository.deleteAll();
-        siteRepository.deleteAll();
-        lemmaRepository.deleteAll();
-        pageRepository.deleteAll();
+        lemmaIdCache.clear();
+        CrawlCheckpoint.deleteAll(indexingSettings.getCheckpointDirectory());
         LinkExecutor.stoppedByUser = false;
+        retireUnconfiguredSites();
         createSites();
         createPages();
         return new ResponseEntity<>(new Response(), HttpStatus.OK);
     }
 
+    @Override
+    public ResponseEntity<Response> resumeIndexing() {
+        if (!sitesInProcessingIndexing.isEmpty()) {
+            return new ResponseEntity<>(new ErrorResponse("Индексация уже запущена"), HttpStatus.BAD_REQUEST);
+        }
+        stoppedByUser = false;
+        LinkExecutor.stoppedByUser = false;
+        Map<Site, LinkExecutor> linkExecutors = new LinkedHashMap<>();
+        for (SiteUrlName siteUrlName : sites.getSites()) {
+            Site site = indexGenerations.findBuilding(siteUrlName.getUrl()).orElse(null);
+            if (site == null && indexGenerations.findLive(siteUrlName.getUrl()).isPresent()) {
+                continue;
+            }
+            if (site != null && CrawlCheckpoint.exists(CrawlCheckpoint.path(indexingSettings.getCheckpointDirectory(), site), site)) {
+                site.setType(Site.Type.INDEXING.name());
+                site.setLastError(null);
+                site.setStatusTime(LocalDateTime.now());
+                siteRepository.saveAndFlush(site);
+                LinkExecutor linkExecutor = createLinkExecutor(site);
+                linkExecutor.restore(pageRepository.findPathsBySite(site));
+                linkExecutors.put(site, linkExecutor);
+            } else {
+                site = createSite(siteUrlName);
+                linkExecutors.put(site, createLinkExecutor(site));
+            }
+        }
+        if (linkExecutors.isEmpty()) {
+            return new ResponseEntity<>(new ErrorResponse("Все сайты уже проиндексированы"), HttpStatus.BAD_REQUEST);
+        }
+        startCrawl(linkExecutors);
+        return new ResponseEntity<>(new Response(), HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<Response> recrawlAll() {
+        if (!sitesInProcessingIndexing.isEmpty()) {
+            return new ResponseEntity<>(new ErrorResponse("Индексация уже запущена"), HttpStatus.BAD_REQUEST);
+        }
+        stoppedByUser = false;
+        LinkExecutor.stoppedByUser = false;
+        Map<Site, LinkExecutor> linkExecutors = new LinkedHashMap<>();
+        for (SiteUrlName siteUrlName : sites.getSites()) {
+            Site site = indexGenerations.findLive(siteUrlName.getUrl()).orElse(null);
+            if (site != null) {
+                site.setStatusTime(LocalDateTime.now());
+                siteRepository.saveAndFlush(site);
+                LinkExecutor linkExecutor = createLinkExecutor(site);
+                linkExecutor.recrawl(pageRepository.findStatesBySite(site));
+                linkExecutors.put(site, linkExecutor);
+            } else {
+                site = createSite(siteUrlName);
+                linkExecutors.put(site, createLinkExecutor(site));
+            }
+        }
+        startCrawl(linkExecutors);
+        return new ResponseEntity<>(new Response(), HttpStatus.OK);
+    }
+
     public void createSites() {
         List<SiteUrlName> siteUrlNameList = sites.getSites();
         sitesInProcessingIndexing.clear();
-        LinkExecutor.allLinks.clear();
         for (SiteUrlName siteUrlName : siteUrlNameList) {
             Site site = createSite(siteUrlName);
             sitesInProcessingIndexing.put(site.getUrl(), site);
@@ -68,31 +141,57 @@ public class IndexingServiceImpl implements IndexingService {
     }
 
     public Site createSite(SiteUrlName siteUrlName) {
-        Optional<Site> indexingSite = siteRepository.findByUrl(siteUrlName.getUrl());
-        if (!indexingSite.isEmpty()) {
-            indexingSite.get().setType(Site.Type.REMOVING.name());
-            siteRepository.saveAndFlush(indexingSite.get());
-            siteRepository.deleteByType(Site.Type.REMOVING.name());
-        }
-        Site site = new Site();
-        site.setName(siteUrlName.getName());
-        site.setUrl(siteUrlName.getUrl());
-        site.setStatusTime(LocalDateTime.now());
-        site.setType(Site.Type.INDEXING.name());
-        siteRepository.saveAndFlush(site);
-        return site;
+        return indexGenerations.createGeneration(siteUrlName);
+    }
+
+    private void retireUnconfiguredSites() {
+        Set<String> configuredUrls = new HashSet<>();
+        sites.getSites().forEach(siteUrlName -> configuredUrls.add(siteUrlName.getUrl()));
+        boolean retired = false;
+        for (Site site : siteRepository.findAll()) {
+            if (!configuredUrls.contains(site.getUrl()) && !site.getType().equals(Site.Type.REMOVING.name())) {
+                site.setType(Site.Type.REMOVING.name());
+                siteRepository.saveAndFlush(site);
+                searchCache.invalidate(site.getUrl());
+                retired = true;
+            }
+        }
+        if (retired) {
+            indexGenerations.collectGarbage();
+        }
     }
 
     public void createPages() {
+        Map<Site, LinkExecutor> linkExecutors = new LinkedHashMap<>();
         for (Site site : sitesInProcessingIndexing.values()) {
+            linkExecutors.put(site, createLinkExecutor(site));
+        }
+        startCrawl(linkExecutors);
+    }
+
+    private LinkExecutor createLinkExecutor(Site site) {
+        IndexingPipeline pipeline = new IndexingPipeline(site, this, pageBatchWriter, siteRepository,
+                pipelineExecutors, indexingSettings);
+        return new LinkExecutor(siteRepository, indexGenerations, pipeline, fetchScheduler, site,
+                new UrlFilter(sites.findSiteUrlNameByUrl(site.getUrl())), indexingSettings);
+    }
+
+    private void startCrawl(Map<Site, LinkExecutor> linkExecutors) {
+        synchronized (Executors.class) {
+            if (executorService == null) {
+                executorService = Executors.newCachedThreadPool();
+            }
+        }
+        linkExecutors.keySet().forEach(site -> sitesInProcessingIndexing.put(site.getUrl(), site));
+        for (Map.Entry<Site, LinkExecutor> entry : linkExecutors.entrySet()) {
             try {
-                synchronized (Executors.class) {
-                    if (executorService == null) {
-                        executorService = Executors.newCachedThreadPool();
+                executorService.execute(() -> {
+                    try {
+                        entry.getValue().run();
+                    } finally {
+                        lemmaIdCache.evict(entry.getKey().getId());
                     }
-                }
-                LinkExecutor linkExecutor = new LinkExecutor(siteRepository, pageRepository, site.getUrl(), site, this);
-                executorService.execute(linkExecutor);
+                });
             } catch (Exception e) {
                 e.printStackTrace();
             }
@@ -121,57 +220,46 @@ public class IndexingServiceImpl implements IndexingService {
             e.printStackTrace();
         }
         String home = Objects.requireNonNull(url).getProtocol() + "://" + url.getHost();
-        Site site = siteRepository.findByUrl(home).orElse(null);
+        Site site = indexGenerations.findLive(home).or(() -> indexGenerations.findBuilding(home)).orElse(null);
         if (site == null) site = createSite(sites.findSiteUrlNameByUrl(home));
+        String canonicalUrl = new UrlFilter(sites.findSiteUrlNameByUrl(home)).apply(pageUrl);
+        if (canonicalUrl != null) pageUrl = canonicalUrl;
         deletePageIfExist(site, pageUrl);
-        Page page = createSinglePage(site, pageUrl);
-        createLemmasAndIndices(site, page);
+        try {
+            Page page = createSinglePage(site, pageUrl);
+            createLemmasAndIndices(site, page);
+        } finally {
+            lemmaIdCache.evict(site.getId());
+        }
         site.setLastError("Проведена индексация страницы " + pageUrl);
-        site.setType(Site.Type.INDEXED.name());
-        siteRepository.saveAndFlush(site);
+        indexGenerations.publish(site);
         return new ResponseEntity<>(new Response(), HttpStatus.OK);
     }
 
     private Page createSinglePage(Site site, String pageUrl) {
-        Page page = new Page(site, pageUrl, 200, "");
-        site.getPages().add(page);
-        Document document;
+        Page page = new Page(site, pageUrl, 200);
         try {
-            Connection.Response response = Jsoup.connect(pageUrl).userAgent("Mozilla/5.0").execute();
-            int statusCode = response.statusCode();
-            if (statusCode != 200) {
-                page.setCode(response.statusCode());
+            FetchResult fetchResult = PageFetcher.fetch(pageUrl);
+            page.setCode(fetchResult.getStatusCode());
+            page.setEtag(fetchResult.getEtag());
+            page.setLastModified(fetchResult.getLastModified());
+            if (fetchResult.isHtml()) {
+                TextExtractor.fillPage(page, fetchResult.getDocument());
             }
-            document = Jsoup.connect(pageUrl).ignoreContentType(true).userAgent("Mozilla/5.0").get();
-            page.setContent(document.outerHtml());
         } catch (Exception e) {
             e.printStackTrace();
         }
-        pageRepository.saveAndFlush(page);
+        pageBatchWriter.write(List.of(page));
         siteRepository.saveAndFlush(site);
         return page;
     }
 
     private void deletePageIfExist(Site site, String pageUrl) {
-        List<Page> list = pageRepository.findAllBySiteAndPathAndCode(site, pageUrl, 200);
-        if (!list.isEmpty()) {
-            for (Page p : list) {
-                pageRepository.delete(p);
-                deleteIndexDecreaseFrequency(site, pageUrl);
-            }
-        }
-    }
-
-    private void deleteIndexDecreaseFrequency(Site site, String pageUrl) {
-        List<Index> indexList = indexRepository.findAllBySite(site);
-        for (Index i : indexList) {
-            if (i.getPage().getPath().equals(pageUrl)) {
-                Lemma lemmaToDecrease = i.getLemma();
-                int frequencyToDecrease = i.getRank();
-                lemmaToDecrease.setFrequency(lemmaToDecrease.getFrequency() - frequencyToDecrease);
-                indexRepository.delete(i);
-                lemmaRepository.saveAndFlush(lemmaToDecrease);
-            }
+        List<Integer> pageIds = pageRepository.findIdsBySiteAndPath(site, pageUrl);
+        if (!pageIds.isEmpty()) {
+            removeLemmasAndIndices(site, pageIds);
+            pageRepository.deleteAllByIdInBatch(pageIds);
+            siteCounters.addPages(site.getId(), -pageIds.size());
         }
     }
 
@@ -185,7 +273,7 @@ public class IndexingServiceImpl implements IndexingService {
             return result;
         }
         String home = url.getProtocol() + "://" + url.getHost();
-        if (sitesInProcessingIndexing.contains(home)) {
+        if (sitesInProcessingIndexing.containsKey(home)) {
             result.add(new ResponseEntity<>(new ErrorResponse("Страница уже индексируется"), HttpStatus.BAD_REQUEST));
             return result;
         }
@@ -204,33 +292,130 @@ public class IndexingServiceImpl implements IndexingService {
     }
 
     public void createLemmasAndIndices(Site site, Page page) throws IOException {
-        LemmaFinder lemmaFinder = LemmaFinder.getInstance();
-        Map<String, Integer> mapLemmasOnPage = lemmaFinder.collectLemmas(page.getContent());
-        List<Lemma> lemmaList = lemmaRepository.findAllBySite(site);
-        Map<String, Lemma> lemmaMap = new HashMap<>();
-        for (Lemma lemma : lemmaList) {
-            lemmaMap.put(lemma.getLemma(), lemma);
-        }
-        List<Index> indexList = indexRepository.findAllBySite(site);
-        Map<Integer, Index> indices = new HashMap<>();
-        for (Index index : indexList) {
-            indices.put(index.hashCode(), index);
-        }
-        for (String lemmWord : mapLemmasOnPage.keySet()) {
-            Lemma lemma;
-            if (lemmaMap.containsKey(lemmWord)) {
-                lemmaMap.get(lemmWord).setFrequency(lemmaMap.get(lemmWord).getFrequency() + 1);
-                lemma = lemmaMap.get(lemmWord);
-            } else {
-                lemma = new Lemma(lemmWord, 1, site);
-                lemmaMap.put(lemmWord, lemma);
-                site.getLemmas().add(lemma);
+        Map<String, int[]> lemmaPositions = LemmaFinder.getInstance()
+                .collectLemmaPositions(page.getText() == null ? "" : page.getText());
+        Map<Page, Map<String, int[]>> pageLemmaPositions = new HashMap<>();
+        if (!lemmaPositions.isEmpty()) {
+            pageLemmaPositions.put(page, lemmaPositions);
+        }
+        saveLemmasAndIndices(site, pageLemmaPositions);
+    }
+
+    public void saveLemmasAndIndices(Site site, Map<Page, Map<String, int[]>> pageLemmaPositions) {
+        if (pageLemmaPositions.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> frequencyIncrements = new HashMap<>();
+        for (Map<String, int[]> lemmaPositions : pageLemmaPositions.values()) {
+            for (String lemma : lemmaPositions.keySet()) {
+                frequencyIncrements.merge(lemma, 1, Integer::sum);
             }
-            lemmaMap.put(lemmWord, lemma);
-            indexList.add(new Index(page,lemma, mapLemmasOnPage.get(lemmWord)));
         }
-        lemmaRepository.saveAllAndFlush(lemmaMap.values());
-        indexRepository.saveAllAndFlush(indexList);
-        siteRepository.saveAndFlush(site);
+        Map<String, Integer> siteLemmaIds = lemmaIdCache.forSite(site.getId());
+        int newLemmas = upsertLemmas(site, frequencyIncrements, siteLemmaIds);
+        siteCounters.addLemmas(site.getId(), newLemmas);
+        List<IndexRow> indexRows = new ArrayList<>();
+        for (Map.Entry<Page, Map<String, int[]>> pageEntry : pageLemmaPositions.entrySet()) {
+            Map<Integer, int[]> lemmaIdPositions = new HashMap<>();
+            for (Map.Entry<String, int[]> entry : pageEntry.getValue().entrySet()) {
+                lemmaIdPositions.merge(lemmaId(siteLemmaIds, entry.getKey()), entry.getValue(),
+                        IndexingServiceImpl::mergePositions);
+            }
+            lemmaIdPositions.forEach((lemmaId, positions) -> indexRows.add(new IndexRow(pageEntry.getKey().getId(),
+                    lemmaId, positions.length, PositionCodec.encode(positions))));
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcBatchRepository.insertIndices(indexRows, indexingSettings.getIndexBatchSize()));
+        for (Map.Entry<Page, Map<String, int[]>> pageEntry : pageLemmaPositions.entrySet()) {
+            Map<String, Integer> mapLemmasOnPage = new HashMap<>();
+            pageEntry.getValue().forEach((lemma, positions) -> mapLemmasOnPage.put(lemma, positions.length));
+            invertedIndex.addPage(site, pageEntry.getKey().getId(), mapLemmasOnPage);
+        }
+        invalidateIfLive(site);
+    }
+
+    private static int lemmaId(Map<String, Integer> siteLemmaIds, String lemma) {
+        Integer lemmaId = siteLemmaIds.get(lemma);
+        if (lemmaId == null) {
+            throw new IllegalStateException("Не найден идентификатор леммы \"" + lemma + "\"");
+        }
+        return lemmaId;
+    }
+
+    private static int[] mergePositions(int[] first, int[] second) {
+        int[] merged = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, merged, first.length, second.length);
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private int upsertLemmas(Site site, Map<String, Integer> frequencyIncrements, Map<String, Integer> siteLemmaIds) {
+        synchronized (siteLemmaIds) {
+            for (int attempt = 1; ; attempt++) {
+                Map<String, Integer> existingLemmaIds = new HashMap<>();
+                Map<String, Integer> newLemmaIds = new HashMap<>();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        List<String> unknownLemmas = new ArrayList<>();
+                        for (String lemma : frequencyIncrements.keySet()) {
+                            if (!siteLemmaIds.containsKey(lemma)) {
+                                unknownLemmas.add(lemma);
+                            }
+                        }
+                        existingLemmaIds.putAll(jdbcBatchRepository.findLemmaIds(site.getId(), unknownLemmas));
+                        jdbcBatchRepository.upsertLemmas(site.getId(), frequencyIncrements);
+                        unknownLemmas.removeAll(existingLemmaIds.keySet());
+                        Map<String, Integer> insertedLemmaIds = jdbcBatchRepository.findLemmaIds(site.getId(), unknownLemmas);
+                        for (String lemma : unknownLemmas) {
+                            Integer lemmaId = insertedLemmaIds.get(lemma);
+                            if (lemmaId != null) {
+                                newLemmaIds.put(lemma, lemmaId);
+                                continue;
+                            }
+                            lemmaId = jdbcBatchRepository.findLemmaId(site.getId(), lemma);
+                            if (lemmaId != null) {
+                                existingLemmaIds.put(lemma, lemmaId);
+                            }
+                        }
+                    });
+                } catch (PessimisticLockingFailureException e) {
+                    if (attempt >= LEMMA_UPSERT_ATTEMPTS) {
+                        throw e;
+                    }
+                    System.out.println("Взаимоблокировка при сохранении лемм сайта " + site.getName() +
+                            ", попытка " + attempt + " из " + LEMMA_UPSERT_ATTEMPTS);
+                    sleepBeforeRetry(attempt);
+                    continue;
+                }
+                siteLemmaIds.putAll(existingLemmaIds);
+                siteLemmaIds.putAll(newLemmaIds);
+                return newLemmaIds.size();
+            }
+        }
+    }
+
+    private static void sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(20, 50) * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Сохранение лемм прервано", e);
+        }
+    }
+
+    public void removeLemmasAndIndices(Site site, Collection<Integer> pageIds) {
+        if (pageIds.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<String>> pageLemmas = jdbcBatchRepository.findPageLemmas(pageIds);
+        transactionTemplate.executeWithoutResult(status -> jdbcBatchRepository.deleteIndicesDecreaseFrequency(pageIds));
+        pageLemmas.forEach((pageId, lemmas) -> invertedIndex.removePage(site, pageId, lemmas));
+        invalidateIfLive(site);
+    }
+
+    private void invalidateIfLive(Site site) {
+        if (Site.Type.INDEXED.name().equals(site.getType())) {
+            searchCache.invalidate(site.getUrl());
+        }
     }
 }
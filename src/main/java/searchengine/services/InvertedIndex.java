@@ -0,0 +1,137 @@
+package searchengine.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import searchengine.dto.index.PostingEntry;
+import searchengine.model.Site;
+import searchengine.repository.IndexRepository;
+import searchengine.utilities.PostingList;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+public class InvertedIndex {
+    private final IndexRepository indexRepository;
+    private final Map<Integer, CompletableFuture<SiteIndex>> siteIndices = new ConcurrentHashMap<>();
+    private final ExecutorService warmUpExecutor = Executors.newSingleThreadExecutor();
+
+    @PreDestroy
+    public void shutdown() {
+        warmUpExecutor.shutdownNow();
+    }
+
+    public <T> T readPostings(Site site, List<String> lemmas, Function<List<PostingList>, T> reader) {
+        SiteIndex siteIndex = getSiteIndex(site);
+        siteIndex.lock.readLock().lock();
+        try {
+            List<PostingList> postingLists = new ArrayList<>(lemmas.size());
+            for (String lemma : lemmas) {
+                PostingList postingList = siteIndex.postings.get(lemma);
+                postingLists.add(postingList == null ? new PostingList() : postingList);
+            }
+            return reader.apply(postingLists);
+        } finally {
+            siteIndex.lock.readLock().unlock();
+        }
+    }
+
+    public boolean isLoaded(Site site) {
+        CompletableFuture<SiteIndex> siteIndex = siteIndices.get(site.getId());
+        return siteIndex != null && siteIndex.isDone() && !siteIndex.isCompletedExceptionally();
+    }
+
+    public void warmUp(Site site) {
+        if (siteIndices.containsKey(site.getId())) {
+            return;
+        }
+        warmUpExecutor.execute(() -> {
+            try {
+                getSiteIndex(site);
+            } catch (RuntimeException e) {
+                System.out.println("Не удалось загрузить индекс сайта " + site.getUrl() + ": " + e);
+            }
+        });
+    }
+
+    public void addPage(Site site, int pageId, Map<String, Integer> lemmaRanks) {
+        SiteIndex siteIndex = getSiteIndex(site);
+        siteIndex.lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, Integer> entry : lemmaRanks.entrySet()) {
+                siteIndex.postings.computeIfAbsent(entry.getKey(), l -> new PostingList())
+                        .add(pageId, entry.getValue());
+            }
+        } finally {
+            siteIndex.lock.writeLock().unlock();
+        }
+    }
+
+    public void removePage(Site site, int pageId, Collection<String> lemmas) {
+        SiteIndex siteIndex = getSiteIndex(site);
+        siteIndex.lock.writeLock().lock();
+        try {
+            for (String lemma : lemmas) {
+                PostingList postingList = siteIndex.postings.get(lemma);
+                if (postingList != null && postingList.remove(pageId) && postingList.isEmpty()) {
+                    siteIndex.postings.remove(lemma);
+                }
+            }
+        } finally {
+            siteIndex.lock.writeLock().unlock();
+        }
+    }
+
+    public void removeSite(int siteId) {
+        siteIndices.remove(siteId);
+    }
+
+    private SiteIndex getSiteIndex(Site site) {
+        CompletableFuture<SiteIndex> siteIndex = siteIndices.get(site.getId());
+        if (siteIndex == null) {
+            CompletableFuture<SiteIndex> loading = new CompletableFuture<>();
+            siteIndex = siteIndices.putIfAbsent(site.getId(), loading);
+            if (siteIndex == null) {
+                try {
+                    loading.complete(load(site));
+                } catch (RuntimeException e) {
+                    siteIndices.remove(site.getId(), loading);
+                    loading.completeExceptionally(e);
+                    throw e;
+                }
+                siteIndex = loading;
+            }
+        }
+        return siteIndex.join();
+    }
+
+    private SiteIndex load(Site site) {
+        SiteIndex siteIndex = new SiteIndex();
+        List<PostingEntry> entries = indexRepository.findPostingsBySite(site);
+        for (PostingEntry entry : entries) {
+            siteIndex.postings.computeIfAbsent(entry.getLemma(), l -> new PostingList())
+                    .add(entry.getPageId(), entry.getRank());
+        }
+        siteIndex.postings.values().forEach(PostingList::trimToSize);
+        System.out.println("Загружен инвертированный индекс сайта " + site.getName() +
+                ": лемм " + siteIndex.postings.size() + ", записей " + entries.size());
+        return siteIndex;
+    }
+
+    private static class SiteIndex {
+        private final Map<String, PostingList> postings = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    }
+}
@@ -0,0 +1,23 @@
+package searchengine.services;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class LemmaIdCache {
+    private final Map<Integer, Map<String, Integer>> lemmaIds = new ConcurrentHashMap<>();
+
+    public Map<String, Integer> forSite(int siteId) {
+        return lemmaIds.computeIfAbsent(siteId, id -> new ConcurrentHashMap<>());
+    }
+
+    public void evict(int siteId) {
+        lemmaIds.remove(siteId);
+    }
+
+    public void clear() {
+        lemmaIds.clear();
+    }
+}
@@ -0,0 +1,43 @@
+package searchengine.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import searchengine.config.IndexingSettings;
+import searchengine.model.Page;
+import searchengine.repository.JdbcBatchRepository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+public class PageBatchWriter {
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexingSettings indexingSettings;
+    private final SiteCounters siteCounters;
+
+    public void write(List<Page> pages) {
+        inChunks(pages, jdbcBatchRepository::insertPages);
+        for (Page page : pages) {
+            siteCounters.addPages(page.getSite().getId(), 1);
+        }
+    }
+
+    public void update(List<Page> pages) {
+        inChunks(pages, jdbcBatchRepository::updatePages);
+    }
+
+    public void updateHeaders(List<Page> pages) {
+        inChunks(pages, jdbcBatchRepository::updatePageHeaders);
+    }
+
+    private void inChunks(List<Page> pages, Consumer<List<Page>> writer) {
+        int batchSize = indexingSettings.getPageBatchSize();
+        for (int from = 0; from < pages.size(); from += batchSize) {
+            List<Page> chunk = pages.subList(from, Math.min(from + batchSize, pages.size()));
+            transactionTemplate.executeWithoutResult(status -> writer.accept(chunk));
+        }
+    }
+}
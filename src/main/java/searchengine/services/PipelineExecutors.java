@@ -0,0 +1,40 @@
+package searchengine.services;
+
+import lombok.Getter;
+import org.springframework.stereotype.Service;
+import searchengine.config.IndexingSettings;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Getter
+@Service
+public class PipelineExecutors {
+    private final ExecutorService extractPool;
+    private final ExecutorService lemmatizePool;
+    private final ExecutorService persistPool;
+
+    public PipelineExecutors(IndexingSettings indexingSettings) {
+        extractPool = newPool("extract-", indexingSettings.getExtractThreads());
+        lemmatizePool = newPool("lemmatize-", indexingSettings.getLemmatizeThreads());
+        persistPool = newPool("persist-", indexingSettings.getPersistThreads());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        extractPool.shutdownNow();
+        lemmatizePool.shutdownNow();
+        persistPool.shutdownNow();
+    }
+
+    private static ExecutorService newPool(String namePrefix, int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
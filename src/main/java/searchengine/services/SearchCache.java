@@ -0,0 +1,80 @@
+package searchengine.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import searchengine.config.SearchSettings;
+import searchengine.dto.search.SearchResponse;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+public class SearchCache {
+    private final SearchSettings searchSettings;
+    private final Map<String, AtomicLong> siteVersions = new ConcurrentHashMap<>();
+    private final AtomicLong allSitesVersion = new AtomicLong();
+    private Map<String, CachedResponse> responses;
+    private long ttl;
+
+    @PostConstruct
+    public void init() {
+        int cacheSize = searchSettings.getCacheSize();
+        ttl = TimeUnit.MILLISECONDS.toNanos(searchSettings.getCacheTtl());
+        responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public static String key(Set<String> lemmas, String url, int offset, int limit) {
+        return String.join(" ", new TreeSet<>(lemmas)) + "|" + url + "|" + offset + "|" + limit;
+    }
+
+    public long version(String url) {
+        return url.isEmpty() ? allSitesVersion.get() : siteVersions.computeIfAbsent(url, u -> new AtomicLong()).get();
+    }
+
+    public synchronized SearchResponse get(String key, long version) {
+        CachedResponse cached = responses.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.version != version || System.nanoTime() - cached.created > ttl) {
+            responses.remove(key);
+            return null;
+        }
+        return cached.response;
+    }
+
+    public synchronized void put(String key, long version, SearchResponse response) {
+        if (searchSettings.getCacheSize() > 0) {
+            responses.put(key, new CachedResponse(response, version, System.nanoTime()));
+        }
+    }
+
+    public void invalidate(String url) {
+        siteVersions.computeIfAbsent(url, u -> new AtomicLong()).incrementAndGet();
+        allSitesVersion.incrementAndGet();
+    }
+
+    private static class CachedResponse {
+        private final SearchResponse response;
+        private final long version;
+        private final long created;
+
+        private CachedResponse(SearchResponse response, long version, long created) {
+            this.response = response;
+            this.version = version;
+            this.created = created;
+        }
+    }
+}
@@ -1,286 +1,297 @@
 package searchengine.services;
 
 import lombok.RequiredArgsConstructor;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Element;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import searchengine.config.SearchSettings;
 import searchengine.dto.ErrorResponse;
 import searchengine.dto.Response;
+import searchengine.dto.index.LemmaEntry;
+import searchengine.dto.index.LemmaPositions;
+import searchengine.dto.index.PageMeta;
+import searchengine.dto.index.PageText;
+import searchengine.dto.index.PostingRow;
+import searchengine.dto.search.RankedPage;
+import searchengine.dto.search.RankingResult;
 import searchengine.dto.search.SearchResponse;
 import searchengine.dto.search.SearchResponseData;
 import searchengine.exceptions.SearchException;
-import searchengine.model.Index;
-import searchengine.model.Lemma;
-import searchengine.model.Page;
 import searchengine.model.Site;
 import searchengine.repository.*;
+import searchengine.utilities.ContentCodec;
 import searchengine.utilities.LemmaFinder;
+import searchengine.utilities.PositionCodec;
+import searchengine.utilities.PostingIntersection;
+import searchengine.utilities.PostingList;
+import searchengine.utilities.SnippetBuilder;
+import searchengine.utilities.TopKRanker;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 
 @Service
 @RequiredArgsConstructor
 public class SearchServiceImpl implements SearchService {
     private final SiteRepository siteRepository;
     private final LemmaRepository lemmaRepository;
+    private final PageRepository pageRepository;
     private final IndexRepository indexRepository;
-    private int limit;
+    private final PageContentRepository pageContentRepository;
+    private final InvertedIndex invertedIndex;
+    private final SearchSettings searchSettings;
+    private final SearchCache searchCache;
+    private ExecutorService searchExecutor;
 
+    @PostConstruct
+    public void init() {
+        searchExecutor = Executors.newFixedThreadPool(searchSettings.getThreads());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchExecutor.shutdownNow();
+    }
 
     @Override
     public ResponseEntity<? extends Response> allSitesSearch(String searchText, String url, int offset, int limit) throws IOException {
-        this.limit = limit;
         if (searchText.isEmpty())
             return new ResponseEntity<>(new ErrorResponse("Задан пустой поисковый запрос"), HttpStatus.BAD_REQUEST);
-        Optional<Site> siteOptional = siteRepository.findByUrl(url);
+        Set<String> requestLemmas = LemmaFinder.getInstance().collectLemmas(searchText).keySet();
+        String cacheKey = SearchCache.key(requestLemmas, url, offset, limit);
+        long version = searchCache.version(url);
+        SearchResponse cached = searchCache.get(cacheKey, version);
+        if (cached != null) {
+            return new ResponseEntity<>(cached, HttpStatus.OK);
+        }
+        Optional<Site> siteOptional = siteRepository.findByUrlAndType(url, Site.Type.INDEXED.name());
         if (!url.isEmpty()) {
             if (siteOptional.isEmpty()) {
                 return new ResponseEntity<>(new ErrorResponse("Сайт не найден в базе данных"), HttpStatus.BAD_REQUEST);
             } else {
-                return siteSearch(searchText, url, offset, limit);
+                ResponseEntity<SearchResponse> response = siteSearch(requestLemmas, siteOptional.get(), offset, limit);
+                searchCache.put(cacheKey, version, response.getBody());
+                return response;
             }
         } else {
-            List<SearchResponseData> searchResponseDataList = new ArrayList<>();
-            for (Site site : siteRepository.findAllByType(Site.Type.INDEXED.name())) {
-                searchResponseDataList.addAll(siteSearch(searchText, site.getUrl(), offset, limit).getBody().getData());
-            }
-            return new ResponseEntity<>(new SearchResponse(searchResponseDataList, searchResponseDataList.size()), HttpStatus.OK);
+            return multiSiteSearch(requestLemmas, siteRepository.findAllByType(Site.Type.INDEXED.name()), offset, limit,
+                    cacheKey, version);
         }
     }
 
     @Override
     public ResponseEntity<SearchResponse> siteSearch(String searchText, String url, int offset, int limit) throws IOException {
-        List<Lemma> lemmasFromRequest = null;
-        try {
-            lemmasFromRequest = getLemmasFromRequestInDB(searchText, url);
-        } catch (SearchException e) {
-            lemmasFromRequest = new ArrayList<>();
+        Set<String> requestLemmas = LemmaFinder.getInstance().collectLemmas(searchText).keySet();
+        return siteSearch(requestLemmas, siteRepository.findByUrlAndType(url, Site.Type.INDEXED.name()).get(), offset, limit);
+    }
+
+    private ResponseEntity<SearchResponse> siteSearch(Set<String> requestLemmas, Site site, int offset, int limit) {
+        SiteRanking siteRanking = rankSite(requestLemmas, site, offset + limit);
+        RankingResult ranking = siteRanking.ranking;
+        List<RankedPage> rankedPages = ranking.getPages().size() > offset ?
+                ranking.getPages().subList(offset, ranking.getPages().size()) : new ArrayList<>();
+        TopKRanker.normalize(rankedPages, ranking.getMaxAbsRelevance());
+        List<SearchResponseData> searchResponseDataList = getSearchResponseData(rankedPages, Map.of(site.getId(), siteRanking));
+        return new ResponseEntity<>(new SearchResponse(searchResponseDataList, ranking.getCount()), HttpStatus.OK);
+    }
+
+    private ResponseEntity<SearchResponse> multiSiteSearch(Set<String> requestLemmas, List<Site> sites, int offset, int limit,
+                                                           String cacheKey, long version) {
+        int topSize = offset + limit;
+        Map<Site, Future<SiteRanking>> futures = new LinkedHashMap<>();
+        for (Site site : sites) {
+            futures.put(site, searchExecutor.submit(() -> rankSite(requestLemmas, site, topSize)));
         }
-        List<Index> indexesFromRequest = getIndicesFromRequest(lemmasFromRequest, url);
-        List<Page> resultPages = new ArrayList<>();
-        for(Lemma l : lemmasFromRequest) {
-            List<Page> tempPages = new ArrayList<>();
-            if (resultPages.isEmpty()){
-                tempPages = fillResultPagesList(indexesFromRequest, l);
-            }else {
-                tempPages = selectNextLemmaPages(l, resultPages, indexesFromRequest);
-            }
-            if (!tempPages.isEmpty()) {
-                resultPages = tempPages;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchSettings.getSiteTimeout());
+        Map<Integer, SiteRanking> siteRankings = new HashMap<>();
+        List<String> failedSites = new ArrayList<>();
+        for (Map.Entry<Site, Future<SiteRanking>> entry : futures.entrySet()) {
+            try {
+                SiteRanking siteRanking = entry.getValue().get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                siteRankings.put(entry.getKey().getId(), siteRanking);
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                failedSites.add(entry.getKey().getUrl());
+                System.out.println("Превышено время поиска по сайту " + entry.getKey().getUrl());
+            } catch (ExecutionException e) {
+                failedSites.add(entry.getKey().getUrl());
+                System.out.println("Ошибка поиска по сайту " + entry.getKey().getUrl() + ": " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SearchException("Поиск прерван");
             }
         }
-        List<Index> resultIndices = new ArrayList<>();
-        for (Index i : indexesFromRequest) {
-            if (resultPages.contains(i.getPage())){
-                resultIndices.add(i);
-            }
+        int count = 0;
+        float maxAbsRelevance = 0;
+        for (SiteRanking siteRanking : siteRankings.values()) {
+            count += siteRanking.ranking.getCount();
+            maxAbsRelevance = Math.max(maxAbsRelevance, siteRanking.ranking.getMaxAbsRelevance());
         }
-
-        HashMap<Page, Float> pageAbsRelevance = getPageAbsRelevance(resultPages, resultIndices);
-        System.out.println("ТЫК!");
-        List<SearchResponseData> searchResponseDataList = getSearchResponseData(pageAbsRelevance, resultIndices);
-        List<SearchResponseData> searchListLimits = new ArrayList<>();
-        searchListLimits = (searchResponseDataList.size() + offset) > limit? searchResponseDataList.subList(offset, limit) : searchResponseDataList;
-        return new ResponseEntity<>(new SearchResponse(searchListLimits, searchListLimits.size()), HttpStatus.OK);
+        List<RankedPage> merged = mergeRankings(siteRankings.values(), topSize);
+        List<RankedPage> rankedPages = merged.size() > offset ? merged.subList(offset, merged.size()) : new ArrayList<>();
+        TopKRanker.normalize(rankedPages, maxAbsRelevance);
+        List<SearchResponseData> searchResponseDataList = getSearchResponseData(rankedPages, siteRankings);
+        SearchResponse searchResponse = new SearchResponse(searchResponseDataList, count);
+        if (failedSites.isEmpty()) {
+            searchCache.put(cacheKey, version, searchResponse);
+        } else {
+            searchResponse.setError("Результаты неполные, не удалось выполнить поиск по сайтам: " + String.join(", ", failedSites));
+        }
+        return new ResponseEntity<>(searchResponse, HttpStatus.OK);
     }
 
-    private List<Page> fillResultPagesList(List<Index> tempIndex, Lemma lemma) {
-        List<Page> result = new ArrayList<>();
-        for (Index i : tempIndex) {
-            if (i.getLemma().getLemma().equals(lemma.getLemma())) {
-                result.add(i.getPage());
+    private List<RankedPage> mergeRankings(Collection<SiteRanking> siteRankings, int topSize) {
+        List<RankedPage> merged = new ArrayList<>();
+        PriorityQueue<RankedPage> candidates = new PriorityQueue<>(Math.max(siteRankings.size(), 1), TopKRanker.BY_RELEVANCE);
+        Map<RankedPage, Iterator<RankedPage>> sources = new IdentityHashMap<>();
+        for (SiteRanking siteRanking : siteRankings) {
+            Iterator<RankedPage> iterator = siteRanking.ranking.getPages().iterator();
+            if (iterator.hasNext()) {
+                RankedPage head = iterator.next();
+                candidates.add(head);
+                sources.put(head, iterator);
             }
         }
-        return result;
-    }
-
-    private List<Page> selectNextLemmaPages(Lemma l, List<Page> pageList, List<Index> indexList) {
-        List<Page> tempPage = new ArrayList<>();
-        for (Index i : indexList) {
-            if (i.getLemma().getLemma().equals(l.getLemma()) && pageList.contains(i.getPage())){
-                tempPage.add(i.getPage());
+        while (!candidates.isEmpty() && merged.size() < topSize) {
+            RankedPage best = candidates.poll();
+            merged.add(best);
+            Iterator<RankedPage> iterator = sources.remove(best);
+            if (iterator.hasNext()) {
+                RankedPage next = iterator.next();
+                candidates.add(next);
+                sources.put(next, iterator);
             }
         }
-        return tempPage;
+        return merged;
     }
 
-    private List<Index> getIndicesFromRequest(List<Lemma> lemmasFromRequest, String url) {
-        List<Index> indicesFromRequest = new ArrayList<>();
-        Optional<Site> siteOptional = siteRepository.findByUrl(url);
-        if (siteOptional.isPresent()) {
-            Site site = siteOptional.get();
-            List<Index> indexList = indexRepository.findAllBySite(site);
-            for (Lemma l : lemmasFromRequest) {
-                indicesFromRequest.addAll(getIndicesByLemma(l, indexList));
-            }
+    private SiteRanking rankSite(Set<String> requestLemmas, Site site, int topSize) {
+        List<LemmaEntry> lemmasFromRequest = null;
+        try {
+            lemmasFromRequest = getLemmasFromRequestInDB(requestLemmas, site);
+        } catch (SearchException e) {
+            lemmasFromRequest = new ArrayList<>();
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Поиск по сайту " + site.getUrl() + " прерван");
         }
-        return indicesFromRequest;
+        RankingResult ranking = rankPostings(lemmasFromRequest, site, topSize);
+        for (RankedPage rankedPage : ranking.getPages()) {
+            rankedPage.setSiteId(site.getId());
+        }
+        return new SiteRanking(site, lemmasFromRequest, ranking);
     }
 
-    private List<Index> getIndicesByLemma(Lemma l, List<Index> indexList) {
-        List<Index> result = new ArrayList<>();
-        for (Index i : indexList) {
-            if (i.getLemma().getLemma().equals(l.getLemma())) {
-                result.add(i);
+    private RankingResult rankPostings(List<LemmaEntry> lemmasFromRequest, Site site, int topSize) {
+        if (lemmasFromRequest.isEmpty()) {
+            return rank(new ArrayList<>(), topSize);
+        }
+        if (!invertedIndex.isLoaded(site)) {
+            invertedIndex.warmUp(site);
+            Map<Integer, PostingList> postingsByLemmaId = new HashMap<>();
+            for (LemmaEntry l : lemmasFromRequest) {
+                postingsByLemmaId.put(l.getId(), new PostingList());
             }
+            for (PostingRow row : indexRepository.findPostingsByLemmaIds(postingsByLemmaId.keySet())) {
+                postingsByLemmaId.get(row.getLemmaId()).add(row.getPageId(), row.getRank());
+            }
+            List<PostingList> postingLists = new ArrayList<>();
+            for (LemmaEntry l : lemmasFromRequest) {
+                postingLists.add(postingsByLemmaId.get(l.getId()));
+            }
+            return rank(postingLists, topSize);
         }
-        return result;
-    }
-
-
-    private List<Lemma> getLemmasFromRequestInDB(String searchText, String url) throws IOException {
-        LemmaFinder lemmaFinder = LemmaFinder.getInstance();
-        List<Lemma> lemmasFromRequest = new ArrayList<>();
-        Site site = siteRepository.findByUrl(url).get();
-        Map<String, Integer> requestLemmas = lemmaFinder.collectLemmas(searchText);
-        List<Lemma> listOfLemmasOnSite = lemmaRepository.findAllBySite(site);
-        for (String lemma : requestLemmas.keySet()) {
-            lemmasFromRequest.addAll(findRequestLemmaInBase(lemma, listOfLemmasOnSite));
+        List<String> lemmas = new ArrayList<>();
+        for (LemmaEntry l : lemmasFromRequest) {
+            lemmas.add(l.getLemma());
         }
-        lemmasFromRequest.sort((o1, o2) -> o1.getFrequency() - o2.getFrequency());
-        return lemmasFromRequest;
+        return invertedIndex.readPostings(site, lemmas, postingLists -> rank(postingLists, topSize));
     }
 
-    private List<Lemma> findRequestLemmaInBase(String lemma, List<Lemma> listOfLemmasOnSite) {
-        List<Lemma> lemmas = new ArrayList<>();
-        int maxFrequency = (int) (listOfLemmasOnSite.stream().max((l1, l2 )-> l1.getFrequency() - l2.getFrequency()).get().getFrequency());
-        for (Lemma lemmaOnSite : listOfLemmasOnSite) {
-            if (lemmaOnSite.getLemma().equals(lemma) && lemmaOnSite.getFrequency() > maxFrequency){
-                return lemmas;
-            } else if (lemmaOnSite.getLemma().equals(lemma)) {
-                lemmas.add(lemmaOnSite);
-                return lemmas;
-            }
-        }
-        throw new SearchException("Лемма в базе не найдена");
+    private static String pageUri(String path, String siteUrl) {
+        String root = siteUrl.endsWith("/") ? siteUrl.substring(0, siteUrl.length() - 1) : siteUrl;
+        String uri = path.startsWith(root) ? path.substring(root.length()) : path;
+        return uri.isEmpty() ? "/" : uri;
     }
 
-    private List<SearchResponseData> getSearchResponseData(HashMap<Page, Float> pageAbsRelevance, List<Index> indexPageList) throws IOException {
-        List<SearchResponseData> list = new ArrayList<>();
-        for (Map.Entry<Page, Float> entry : pageAbsRelevance.entrySet()) {
-            String contentString = entry.getKey().getContent();
-            String uri = entry.getKey().getPath().replaceFirst(entry.getKey().getSite().getUrl(), "");
-            String title = contentString.substring(contentString.indexOf("<title>") + 7, contentString.indexOf("</title>"));
-            String snippet = getSnippetFromIndex(entry.getKey().getPath(), indexPageList);
-            if (snippet.matches(".*[а-яА-Я0-9].*")){
-                list.add(new SearchResponseData(entry.getKey().getSite().getUrl(),
-                        entry.getKey().getSite().getName(), uri, title, snippet, entry.getValue()));
-            }
-            if (list.size() >= limit) break;
-        }
-        return list;
+    private static RankingResult rank(List<PostingList> postingLists, int topSize) {
+        return TopKRanker.rank(PostingIntersection.intersect(postingLists), postingLists, 0, topSize);
     }
 
-    private String getSnippetFromIndex(String path, List<Index> indexPageList) throws IOException {
-        String snippet = "";
-        List<String> lemmasFromRequest = new ArrayList<>();
-        for (Index i :indexPageList) {
-            if (!lemmasFromRequest.contains(i.getLemma().getLemma())){
-                lemmasFromRequest.add(i.getLemma().getLemma());
-            }
+    private List<LemmaEntry> getLemmasFromRequestInDB(Set<String> requestLemmas, Site site) {
+        if (requestLemmas.isEmpty()) {
+            return new ArrayList<>();
         }
-        for (Index index : indexPageList) {
-            if (path.equals(index.getPage().getPath())) {
-                String lemma = index.getLemma().getLemma();
-                snippet = snippet + " ... " +  getSnippet(lemma, lemmasFromRequest, clear(index.getPage().getContent(), "body"));
-            }
+        List<LemmaEntry> lemmasFromRequest = new ArrayList<>(lemmaRepository.findEntries(site, requestLemmas));
+        if (lemmasFromRequest.size() < requestLemmas.size()) {
+            throw new SearchException("Лемма в базе не найдена");
         }
-        return snippet;
+        lemmasFromRequest.sort(Comparator.comparingInt(LemmaEntry::getFrequency));
+        return lemmasFromRequest;
     }
 
-
-    private String getSnippet(String lemma, List<String> lemmasFromRequest, String content) throws IOException {
-        int wordCountForSnippet;
-        switch (lemmasFromRequest.size()){
-            case (1):
-                wordCountForSnippet = 15;
-                break;
-            case (2):
-                wordCountForSnippet = 8;
-                break;
-            case (3):
-                wordCountForSnippet = 6;
-                break;
-            default:
-                wordCountForSnippet = 4;
-                break;
-        }
-        LemmaFinder lemmaFinder = LemmaFinder.getInstance();
-        String snippet = "";
-        int lemmaId = -1;
-        String[] words = content.split(" ");
-        for (int i = 0; i < words.length; i++) {
-            if (lemmaFinder.collectLemmas(words[i]).containsKey(lemma)) {
-                lemmaId = i;
-                break;
+    private List<SearchResponseData> getSearchResponseData(List<RankedPage> rankedPages, Map<Integer, SiteRanking> siteRankings) {
+        List<Integer> rankedPageIds = new ArrayList<>();
+        Set<Integer> lemmaIds = new HashSet<>();
+        for (RankedPage rankedPage : rankedPages) {
+            rankedPageIds.add(rankedPage.getPageId());
+            for (LemmaEntry lemma : siteRankings.get(rankedPage.getSiteId()).lemmas) {
+                lemmaIds.add(lemma.getId());
             }
         }
-        if (lemmaId == -1) return snippet;
-        for (int i = wordCountForSnippet; i > 0; i--) {
-            if (lemmaId > i && isWordToSnippet(words[lemmaId - i], lemmasFromRequest, lemmaFinder)) {
-                snippet = snippet + "<b>" + words[lemmaId - i] + "</b>" +  " ";
-            }else if (lemmaId > i){
-                snippet = snippet + words[lemmaId - i] + " ";
-            }
+        if (rankedPageIds.isEmpty()) {
+            return new ArrayList<>();
         }
-        snippet = snippet + "<b>" + words[lemmaId] + "</b>";
-        for (int i = 1; i < wordCountForSnippet && (lemmaId + i) < words.length; i++) {
-            if (isWordToSnippet(words[lemmaId + i], lemmasFromRequest, lemmaFinder)){
-                snippet = snippet + " " + "<b>" + words[lemmaId + i] + "</b>";
-            }else {
-                snippet = snippet + " " + words[lemmaId + i];
-            }
+        Map<Integer, PageMeta> pages = new HashMap<>();
+        for (PageMeta page : pageRepository.findMetaByIds(rankedPageIds)) {
+            pages.put(page.getId(), page);
         }
-        return snippet;
-    }
-
-    private boolean isWordToSnippet(String word, List<String> lemmasFromRequest, LemmaFinder lemmaFinder) {
-        for (String s : lemmaFinder.collectLemmas(word).keySet()) {
-            if (lemmasFromRequest.contains(s.toLowerCase())){
-                return true;
+        Map<Integer, String> pageTexts = new HashMap<>();
+        for (PageText pageText : pageContentRepository.findTexts(rankedPageIds)) {
+            pageTexts.put(pageText.getPageId(), ContentCodec.decompress(pageText.getText()));
+        }
+        Map<Integer, Map<String, int[]>> pagePositions = new HashMap<>();
+        for (LemmaPositions lemmaPositions : indexRepository.findPositions(rankedPageIds, lemmaIds)) {
+            pagePositions.computeIfAbsent(lemmaPositions.getPageId(), id -> new HashMap<>())
+                    .put(lemmaPositions.getLemma(), PositionCodec.decode(lemmaPositions.getPositions()));
+        }
+        List<SearchResponseData> list = new ArrayList<>();
+        for (RankedPage rankedPage : rankedPages) {
+            PageMeta page = pages.get(rankedPage.getPageId());
+            if (page == null) continue;
+            SiteRanking siteRanking = siteRankings.get(rankedPage.getSiteId());
+            Site site = siteRanking.site;
+            String uri = pageUri(page.getPath(), site.getUrl());
+            String title = page.getTitle();
+            String snippet = getSnippet(pageTexts.get(page.getId()), siteRanking.lemmas,
+                    pagePositions.getOrDefault(page.getId(), Map.of()));
+            if (snippet.matches(".*[а-яА-Я0-9].*")){
+                list.add(new SearchResponseData(site.getUrl(),
+                        site.getName(), uri, title, snippet, rankedPage.getRelevance()));
             }
         }
-        return false;
+        return list;
     }
 
-    private String clear(String content, String selector) {
-        StringBuilder html = new StringBuilder();
-        var doc = Jsoup.parse(content);
-        var elements = doc.select(selector);
-        for (Element el : elements) {
-            html.append(el.html());
+    private String getSnippet(String text, List<LemmaEntry> lemmasFromRequest, Map<String, int[]> positions) {
+        List<int[]> lemmaPositions = new ArrayList<>();
+        for (LemmaEntry lemma : lemmasFromRequest) {
+            lemmaPositions.add(positions.getOrDefault(lemma.getLemma(), new int[0]));
         }
-        return Jsoup.parse(html.toString()).text();
+        return SnippetBuilder.build(text, lemmaPositions);
     }
 
-    private HashMap<Page, Float> getPageAbsRelevance(List<Page> pageList, List<Index> indexPageList) {
-        HashMap<Page, Float> pageRelevance = new HashMap<>();
-        for (Page page : pageList) {
-            pageRelevance.put(page, getPageRelevance(page, indexPageList));
-        }
-        HashMap<Page, Float> pageAbsRelevance = new HashMap<>();
-        for (Page page : pageRelevance.keySet()) {
-            float absRelevant = pageRelevance.get(page) / Collections.max(pageRelevance.values());
-            pageAbsRelevance.put(page, absRelevant);
-        }
-        List<Map.Entry<Page, Float>> list = new ArrayList(pageAbsRelevance.entrySet());
-        list.sort((a, b) -> a.getValue() > b.getValue() ? +1 : 0);
-        pageAbsRelevance.clear();
-        for (Map.Entry<Page, Float> entry : list) {
-            pageAbsRelevance.put(entry.getKey(), entry.getValue());
-        }
-        return pageAbsRelevance;
-    }
+    private static class SiteRanking {
+        private final Site site;
+        private final List<LemmaEntry> lemmas;
+        private final RankingResult ranking;
 
-    private Float getPageRelevance(Page page, List<Index> indexPageList) {
-        float relevant = 0;
-        for (Index index : indexPageList) {
-            if (index.getPage() == page) {
-                relevant += index.getRank();
-            }
+        private SiteRanking(Site site, List<LemmaEntry> lemmas, RankingResult ranking) {
+            this.site = site;
+            this.lemmas = lemmas;
+            this.ranking = ranking;
         }
-        return relevant;
     }
 }
@@ -0,0 +1,103 @@
+package searchengine.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import searchengine.config.IndexingSettings;
+import searchengine.repository.JdbcBatchRepository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+public class SiteCounters {
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final IndexingSettings indexingSettings;
+    private final Map<Integer, Counters> counters = new ConcurrentHashMap<>();
+    private ScheduledExecutorService reconciler;
+
+    @PostConstruct
+    public void init() {
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "site-counters-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = indexingSettings.getCounterReconcileInterval();
+        reconciler.scheduleWithFixedDelay(this::reconcile, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    public int pages(int siteId) {
+        return get(siteId).pages.get();
+    }
+
+    public int lemmas(int siteId) {
+        return get(siteId).lemmas.get();
+    }
+
+    public void addPages(int siteId, int delta) {
+        Counters siteCounters = counters.get(siteId);
+        if (siteCounters != null) {
+            siteCounters.pages.addAndGet(delta);
+        }
+    }
+
+    public void addLemmas(int siteId, int delta) {
+        Counters siteCounters = counters.get(siteId);
+        if (siteCounters != null) {
+            siteCounters.lemmas.addAndGet(delta);
+        }
+    }
+
+    public void remove(int siteId) {
+        counters.remove(siteId);
+    }
+
+    private Counters get(int siteId) {
+        Counters siteCounters = counters.get(siteId);
+        if (siteCounters != null) {
+            return siteCounters;
+        }
+        Counters loaded = count(siteId);
+        siteCounters = counters.putIfAbsent(siteId, loaded);
+        return siteCounters == null ? loaded : siteCounters;
+    }
+
+    private Counters count(int siteId) {
+        Counters siteCounters = new Counters();
+        siteCounters.pages.set(jdbcBatchRepository.countPages(siteId));
+        siteCounters.lemmas.set(jdbcBatchRepository.countLemmas(siteId));
+        return siteCounters;
+    }
+
+    private void reconcile() {
+        for (Integer siteId : counters.keySet()) {
+            try {
+                Counters actual = count(siteId);
+                counters.computeIfPresent(siteId, (id, current) -> {
+                    current.pages.set(actual.pages.get());
+                    current.lemmas.set(actual.lemmas.get());
+                    return current;
+                });
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static class Counters {
+        private final AtomicInteger pages = new AtomicInteger();
+        private final AtomicInteger lemmas = new AtomicInteger();
+    }
+}
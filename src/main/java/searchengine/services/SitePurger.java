@@ -0,0 +1,50 @@
+package searchengine.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import searchengine.config.IndexingSettings;
+import searchengine.model.Site;
+import searchengine.repository.JdbcBatchRepository;
+
+import java.util.function.IntBinaryOperator;
+
+@Service
+@RequiredArgsConstructor
+public class SitePurger {
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final InvertedIndex invertedIndex;
+    private final SiteCounters siteCounters;
+    private final LemmaIdCache lemmaIdCache;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexingSettings indexingSettings;
+
+    public void purge(Site site) {
+        long start = System.currentTimeMillis();
+        int siteId = site.getId();
+        invertedIndex.removeSite(siteId);
+        lemmaIdCache.evict(siteId);
+        long rows = deleteInWindows(jdbcBatchRepository.findPageIdRange(siteId),
+                (from, to) -> jdbcBatchRepository.deletePages(siteId, from, to));
+        rows += deleteInWindows(jdbcBatchRepository.findLemmaIdRange(siteId),
+                (from, to) -> jdbcBatchRepository.deleteLemmas(siteId, from, to));
+        transactionTemplate.executeWithoutResult(status -> jdbcBatchRepository.deleteSite(siteId));
+        siteCounters.remove(siteId);
+        System.out.println("Удалены данные сайта " + site.getUrl() + " (id " + siteId + "): строк " + rows +
+                " за " + (System.currentTimeMillis() - start) + " мс");
+    }
+
+    private long deleteInWindows(int[] idRange, IntBinaryOperator delete) {
+        long rows = 0;
+        if (idRange == null) {
+            return rows;
+        }
+        int batchSize = indexingSettings.getPurgeBatchSize();
+        for (long from = idRange[0]; from <= idRange[1]; from += batchSize) {
+            int fromId = (int) from;
+            int toId = (int) Math.min(from + batchSize - 1, idRange[1]);
+            rows += transactionTemplate.execute(status -> delete.applyAsInt(fromId, toId));
+        }
+        return rows;
+    }
+}
@@ -9,21 +9,17 @@ import searchengine.dto.statistics.StatisticsData;
 import searchengine.dto.statistics.StatisticsResponse;
 import searchengine.dto.statistics.TotalStatistics;
 import searchengine.model.Site;
-import searchengine.repository.LemmaRepository;
-import searchengine.repository.PageRepository;
-import searchengine.repository.SiteRepository;
 
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class StatisticsServiceImpl implements StatisticsService {
-    private final SiteRepository siteRepository;
-    private final PageRepository pageRepository;
-    private final LemmaRepository lemmaRepository;
+    private final IndexGenerations indexGenerations;
+    private final SiteCounters siteCounters;
     private final SitesList sites;
 
     @Override
@@ -33,19 +29,20 @@ public class StatisticsServiceImpl implements StatisticsService {
         total.setIndexing(true);
         List<DetailedStatisticsItem> detailed = new ArrayList<>();
         List<SiteUrlName> sitesList = sites.getSites();
+        Map<String, Site> currentSites = indexGenerations.findCurrentByUrl();
         for(int i = 0; i < sitesList.size(); i++) {
             SiteUrlName siteUrlName = sitesList.get(i);
             DetailedStatisticsItem item = new DetailedStatisticsItem();
             item.setName(siteUrlName.getName());
             item.setUrl(siteUrlName.getUrl());
-            Optional<Site> optionalSite = siteRepository.findByUrl(siteUrlName.getUrl());
-            int pages = optionalSite.isEmpty() ? 0 : pageRepository.countBySite(optionalSite.get());
-            int lemmas = optionalSite.isEmpty()? 0 : lemmaRepository.findAllBySite(optionalSite.get()).size();
+            Site site = currentSites.get(siteUrlName.getUrl());
+            int pages = site == null ? 0 : siteCounters.pages(site.getId());
+            int lemmas = site == null ? 0 : siteCounters.lemmas(site.getId());
             item.setPages(pages);
             item.setLemmas(lemmas);
-            item.setStatus(optionalSite.isEmpty()? "" : optionalSite.get().getType());
-            item.setError(optionalSite.isEmpty()? "" : optionalSite.get().getLastError());
-            item.setStatusTime(optionalSite.isEmpty()? 0 : (optionalSite.get().getStatusTime().toEpochSecond(ZoneOffset.UTC) - 3 * 3600) * 1000);
+            item.setStatus(site == null ? "" : site.getType());
+            item.setError(site == null ? "" : site.getLastError());
+            item.setStatusTime(site == null ? 0 : (site.getStatusTime().toEpochSecond(ZoneOffset.UTC) - 3 * 3600) * 1000);
             total.setPages(total.getPages() + pages);
             total.setLemmas(total.getLemmas() + lemmas);
             detailed.add(item);
@@ -0,0 +1,80 @@
+package searchengine.utilities;
+
+import searchengine.dto.crawl.FrontierEntry;
+import searchengine.model.Site;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public class CrawlCheckpoint {
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".checkpoint";
+
+    private CrawlCheckpoint() {
+        throw new RuntimeException("Disallow construct");
+    }
+
+    public static Path path(String directory, Site site) {
+        return Path.of(directory, "site-" + site.getId() + EXTENSION);
+    }
+
+    public static void save(Path file, Site site, UrlFrontier frontier, Collection<FrontierEntry> inProgress) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(VERSION);
+            out.writeInt(site.getId());
+            frontier.write(out, inProgress);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static boolean exists(Path file, Site site) {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return in.readInt() == VERSION && in.readInt() == site.getId();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public static void load(Path file, Site site, UrlFrontier frontier) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != VERSION || in.readInt() != site.getId()) {
+                throw new IOException("Контрольная точка " + file + " не относится к сайту " + site.getUrl());
+            }
+            frontier.read(in);
+        }
+    }
+
+    public static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public static void deleteAll(String directory) {
+        Path path = Path.of(directory);
+        if (!Files.isDirectory(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            files.filter(file -> file.getFileName().toString().endsWith(EXTENSION)).forEach(CrawlCheckpoint::delete);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package searchengine.utilities;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class FingerprintSet {
+    private static final int SEGMENTS = 16;
+    private static final long EMPTY = 0L;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public FingerprintSet() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    public boolean add(String value) {
+        long fingerprint = fingerprint(value);
+        return segments[(int) (fingerprint >>> 60) & (SEGMENTS - 1)].add(fingerprint);
+    }
+
+    public boolean contains(String value) {
+        long fingerprint = fingerprint(value);
+        return segments[(int) (fingerprint >>> 60) & (SEGMENTS - 1)].contains(fingerprint);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                out.writeInt(segment.size);
+                for (long fingerprint : segment.table) {
+                    if (fingerprint != EMPTY) out.writeLong(fingerprint);
+                }
+            }
+        }
+    }
+
+    public void read(DataInput in) throws IOException {
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long fingerprint = in.readLong();
+                segments[(int) (fingerprint >>> 60) & (SEGMENTS - 1)].add(fingerprint);
+            }
+        }
+    }
+
+    public static long fingerprint(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash == EMPTY ? 1 : hash;
+    }
+
+    private static class Segment {
+        private long[] table = new long[1024];
+        private int size;
+
+        private synchronized boolean add(long fingerprint) {
+            if (size * 4 >= table.length * 3) {
+                resize();
+            }
+            if (!insert(table, fingerprint)) {
+                return false;
+            }
+            size++;
+            return true;
+        }
+
+        private synchronized boolean contains(long fingerprint) {
+            int mask = table.length - 1;
+            for (int i = (int) fingerprint & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+                if (table[i] == fingerprint) return true;
+            }
+            return false;
+        }
+
+        private void resize() {
+            long[] resized = new long[table.length * 2];
+            for (long fingerprint : table) {
+                if (fingerprint != EMPTY) insert(resized, fingerprint);
+            }
+            table = resized;
+        }
+
+        private static boolean insert(long[] table, long fingerprint) {
+            int mask = table.length - 1;
+            int i = (int) fingerprint & mask;
+            while (table[i] != EMPTY) {
+                if (table[i] == fingerprint) return false;
+                i = (i + 1) & mask;
+            }
+            table[i] = fingerprint;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package searchengine.utilities;
+
+import org.jsoup.nodes.Document;
+import searchengine.config.IndexingSettings;
+import searchengine.model.Page;
+import searchengine.model.Site;
+import searchengine.repository.SiteRepository;
+import searchengine.services.IndexingService;
+import searchengine.services.PageBatchWriter;
+import searchengine.services.PipelineExecutors;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class IndexingPipeline {
+    private static final long POLL_TIMEOUT_MS = 200;
+    private final Site site;
+    private final IndexingService indexingService;
+    private final PageBatchWriter pageBatchWriter;
+    private final SiteRepository siteRepository;
+    private final ExecutorService extractPool;
+    private final ExecutorService lemmatizePool;
+    private final ExecutorService persistPool;
+    private final int pageBatchSize;
+    private final Semaphore capacity;
+    private final AtomicInteger upstream = new AtomicInteger();
+    private final List<Item> persistBuffer = new ArrayList<>();
+    private boolean writing = false;
+    private volatile boolean closed = false;
+    private volatile Consumer<List<Page>> persistListener = pages -> {};
+    private volatile Exception failure;
+
+    public IndexingPipeline(Site site, IndexingService indexingService, PageBatchWriter pageBatchWriter,
+                            SiteRepository siteRepository, PipelineExecutors pipelineExecutors,
+                            IndexingSettings indexingSettings) {
+        this.site = site;
+        this.indexingService = indexingService;
+        this.pageBatchWriter = pageBatchWriter;
+        this.siteRepository = siteRepository;
+        this.extractPool = pipelineExecutors.getExtractPool();
+        this.lemmatizePool = pipelineExecutors.getLemmatizePool();
+        this.persistPool = pipelineExecutors.getPersistPool();
+        this.pageBatchSize = indexingSettings.getPageBatchSize();
+        this.capacity = new Semaphore(indexingSettings.getQueueCapacity());
+    }
+
+    public void setPersistListener(Consumer<List<Page>> persistListener) {
+        this.persistListener = persistListener;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public Exception getFailure() {
+        return failure;
+    }
+
+    public void submit(Page page, Document document) throws InterruptedException {
+        while (!capacity.tryAcquire(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if (failure != null) {
+                return;
+            }
+        }
+        Item item = new Item(page, document);
+        if (document == null) {
+            enqueuePersist(item);
+            return;
+        }
+        upstream.incrementAndGet();
+        extractPool.execute(() -> extract(item));
+    }
+
+    public void finish() throws InterruptedException {
+        closed = true;
+        schedulePersist();
+        long nextReport = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        synchronized (persistBuffer) {
+            while (upstream.get() > 0 || writing || !persistBuffer.isEmpty()) {
+                persistBuffer.wait(POLL_TIMEOUT_MS);
+                if (System.nanoTime() - nextReport >= 0) {
+                    System.out.println("Ожидание завершения этапа индексации сайта " + site.getName());
+                    nextReport = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+                }
+            }
+        }
+    }
+
+    private void fail(Exception e) {
+        if (failure == null) {
+            failure = e;
+        }
+        System.out.println("Индексация сайта " + site.getName() + " остановлена из-за ошибки: " + e);
+        e.printStackTrace();
+    }
+
+    private void extract(Item item) {
+        if (failure != null) {
+            drop();
+            return;
+        }
+        String previousHash = item.page.getContentHash();
+        try {
+            TextExtractor.fillPage(item.page, item.document);
+        } catch (RuntimeException e) {
+            System.out.println("Не удалось извлечь текст страницы " + item.page.getPath() + ": " + e);
+            drop();
+            return;
+        } finally {
+            item.document = null;
+        }
+        if (item.page.getId() != 0 && item.page.getContentHash().equals(previousHash)) {
+            item.reindex = false;
+            leaveUpstream(item);
+        } else {
+            lemmatizePool.execute(() -> lemmatize(item));
+        }
+    }
+
+    private void lemmatize(Item item) {
+        if (failure != null) {
+            drop();
+            return;
+        }
+        try {
+            item.lemmaPositions = LemmaFinder.getInstance()
+                    .collectLemmaPositions(item.page.getText() == null ? "" : item.page.getText());
+        } catch (IOException e) {
+            fail(e);
+            drop();
+            return;
+        } catch (RuntimeException e) {
+            System.out.println("Не удалось выделить леммы страницы " + item.page.getPath() + ": " + e);
+            drop();
+            return;
+        }
+        leaveUpstream(item);
+    }
+
+    private void drop() {
+        capacity.release();
+        upstream.decrementAndGet();
+        schedulePersist();
+    }
+
+    private void leaveUpstream(Item item) {
+        synchronized (persistBuffer) {
+            persistBuffer.add(item);
+        }
+        upstream.decrementAndGet();
+        schedulePersist();
+    }
+
+    private void enqueuePersist(Item item) {
+        synchronized (persistBuffer) {
+            persistBuffer.add(item);
+        }
+        schedulePersist();
+    }
+
+    private void schedulePersist() {
+        synchronized (persistBuffer) {
+            if (writing || !readyToWrite()) {
+                persistBuffer.notifyAll();
+                return;
+            }
+            writing = true;
+        }
+        persistPool.execute(this::persist);
+    }
+
+    private boolean readyToWrite() {
+        if (persistBuffer.isEmpty()) {
+            return false;
+        }
+        return failure != null || closed || persistBuffer.size() >= pageBatchSize || upstream.get() == 0;
+    }
+
+    private void persist() {
+        while (true) {
+            List<Item> batch;
+            synchronized (persistBuffer) {
+                if (!readyToWrite()) {
+                    writing = false;
+                    persistBuffer.notifyAll();
+                    return;
+                }
+                List<Item> head = persistBuffer.subList(0, Math.min(persistBuffer.size(), pageBatchSize));
+                batch = new ArrayList<>(head);
+                head.clear();
+            }
+            try {
+                if (failure == null) {
+                    write(batch);
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            } finally {
+                capacity.release(batch.size());
+            }
+        }
+    }
+
+    private void write(List<Item> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Page> pages = new ArrayList<>();
+        List<Page> newPages = new ArrayList<>();
+        List<Page> changedPages = new ArrayList<>();
+        List<Page> unchangedPages = new ArrayList<>();
+        List<Integer> changedPageIds = new ArrayList<>();
+        for (Item item : batch) {
+            pages.add(item.page);
+            if (item.page.getId() == 0) {
+                newPages.add(item.page);
+            } else if (item.reindex) {
+                changedPages.add(item.page);
+                changedPageIds.add(item.page.getId());
+            } else {
+                unchangedPages.add(item.page);
+            }
+        }
+        pageBatchWriter.write(newPages);
+        pageBatchWriter.update(changedPages);
+        pageBatchWriter.updateHeaders(unchangedPages);
+        indexingService.removeLemmasAndIndices(site, changedPageIds);
+        Map<Page, Map<String, int[]>> pageLemmaPositions = new LinkedHashMap<>();
+        for (Item item : batch) {
+            if (item.reindex && item.lemmaPositions != null && !item.lemmaPositions.isEmpty()) {
+                pageLemmaPositions.put(item.page, item.lemmaPositions);
+            }
+        }
+        indexingService.saveLemmasAndIndices(site, pageLemmaPositions);
+        site.setStatusTime(LocalDateTime.now());
+        siteRepository.saveAndFlush(site);
+        persistListener.accept(pages);
+    }
+
+    private static class Item {
+        private final Page page;
+        private Document document;
+        private Map<String, int[]> lemmaPositions;
+        private boolean reindex = true;
+
+        private Item(Page page, Document document) {
+            this.page = page;
+            this.document = document;
+        }
+    }
+}
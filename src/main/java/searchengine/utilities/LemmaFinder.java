@@ -7,13 +7,27 @@ import java.io.IOException;
 import java.util.*;
 
 public class LemmaFinder {
+    private static final int WORD_CACHE_SIZE = 100_000;
+    private static final int WORD_CACHE_STRIPES = 64;
+    private static volatile LemmaFinder instance;
     private final LuceneMorphology luceneMorphology;
-    private static final String WORD_TYPE_REGEX = "\\W\\w&&[^а-яА-Я\\s]";
+    private final List<Map<String, WordForm>> wordCache = createWordCache();
     private static final String[] particlesNames = new String[]{"МЕЖД", "ПРЕДЛ", "СОЮЗ"};
 
     public static LemmaFinder getInstance() throws IOException {
-        LuceneMorphology morphology= new RussianLuceneMorphology();
-        return new LemmaFinder(morphology);
+        LemmaFinder lemmaFinder = instance;
+        if (lemmaFinder == null) {
+            synchronized (LemmaFinder.class) {
+                lemmaFinder = instance;
+                if (lemmaFinder == null) {
+                    long start = System.currentTimeMillis();
+                    lemmaFinder = new LemmaFinder(new RussianLuceneMorphology());
+                    instance = lemmaFinder;
+                    System.out.println("Словарь морфологии загружен за " + (System.currentTimeMillis() - start) + " мс");
+                }
+            }
+        }
+        return lemmaFinder;
     }
 
     private LemmaFinder(LuceneMorphology luceneMorphology) {
@@ -24,51 +38,68 @@ public class LemmaFinder {
         throw new RuntimeException("Disallow construct");
     }
 
-    public Map<String, Integer> collectLemmas(String text) {
-        String[] words = arrayContainsRussianWords(text);
-        HashMap<String, Integer> lemmas = new HashMap<>();
-
-        for (String word : words) {
-            if (word.isBlank()) {
-
-                continue;
-            }
-
-            List<String> wordBaseForms = luceneMorphology.getMorphInfo(word);
-            if (anyWordBaseBelongToParticle(wordBaseForms)) {
-                continue;
-            }
-
-            List<String> normalForms = luceneMorphology.getNormalForms(word);
-            if (normalForms.isEmpty()) {
-                continue;
+    public Map<String, Integer> collectLemmas(CharSequence text) {
+        HashMap<String, int[]> counters = new HashMap<>();
+        RussianWordTokenizer.tokenize(text, (word, position, start, end) -> {
+            WordForm wordForm = getWordForm(word);
+            if (wordForm.particle || wordForm.normalForm == null) {
+                return;
             }
+            counters.computeIfAbsent(wordForm.normalForm, w -> new int[1])[0]++;
+        });
+        HashMap<String, Integer> lemmas = new HashMap<>(counters.size() * 4 / 3 + 1);
+        for (Map.Entry<String, int[]> entry : counters.entrySet()) {
+            lemmas.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return lemmas;
+    }
 
-            String normalWord = normalForms.get(0);
-
-            if (lemmas.containsKey(normalWord)) {
-                lemmas.put(normalWord, lemmas.get(normalWord) + 1);
-            } else {
-                lemmas.put(normalWord, 1);
+    public Map<String, int[]> collectLemmaPositions(CharSequence text) {
+        HashMap<String, Positions> collected = new HashMap<>();
+        RussianWordTokenizer.tokenize(text, (word, position, start, end) -> {
+            WordForm wordForm = getWordForm(word);
+            if (wordForm.particle || wordForm.normalForm == null) {
+                return;
             }
+            collected.computeIfAbsent(wordForm.normalForm, w -> new Positions()).add(position);
+        });
+        HashMap<String, int[]> lemmaPositions = new HashMap<>(collected.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Positions> entry : collected.entrySet()) {
+            lemmaPositions.put(entry.getKey(), Arrays.copyOf(entry.getValue().values, entry.getValue().size));
         }
-
-        return lemmas;
+        return lemmaPositions;
     }
 
-    public Set<String> getLemmaSet(String text) {
-        String[] textArray = arrayContainsRussianWords(text);
-        Set<String> lemmaSet = new HashSet<>();
-        for (String word : textArray) {
-            if (!word.isEmpty() && isCorrectWordForm(word)) {
-                List<String> wordBaseForms = luceneMorphology.getMorphInfo(word);
-                if (anyWordBaseBelongToParticle(wordBaseForms)) {
-                    continue;
+    private static List<Map<String, WordForm>> createWordCache() {
+        int stripeSize = WORD_CACHE_SIZE / WORD_CACHE_STRIPES;
+        List<Map<String, WordForm>> stripes = new ArrayList<>(WORD_CACHE_STRIPES);
+        for (int i = 0; i < WORD_CACHE_STRIPES; i++) {
+            stripes.add(new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, WordForm> eldest) {
+                    return size() > stripeSize;
                 }
-                lemmaSet.addAll(luceneMorphology.getNormalForms(word));
+            });
+        }
+        return stripes;
+    }
+
+    private WordForm getWordForm(String word) {
+        int hash = word.hashCode();
+        Map<String, WordForm> stripe = wordCache.get((hash ^ (hash >>> 16)) & (WORD_CACHE_STRIPES - 1));
+        WordForm wordForm;
+        synchronized (stripe) {
+            wordForm = stripe.get(word);
+        }
+        if (wordForm == null) {
+            boolean particle = anyWordBaseBelongToParticle(luceneMorphology.getMorphInfo(word));
+            List<String> normalForms = particle ? List.of() : luceneMorphology.getNormalForms(word);
+            wordForm = new WordForm(normalForms.isEmpty() ? null : normalForms.get(0), particle);
+            synchronized (stripe) {
+                stripe.put(word, wordForm);
             }
         }
-        return lemmaSet;
+        return wordForm;
     }
 
     private boolean anyWordBaseBelongToParticle(List<String> wordBaseForms) {
@@ -76,28 +107,37 @@ public class LemmaFinder {
     }
 
     private boolean hasParticleProperty(String wordBase) {
+        int grammarStart = wordBase.indexOf(' ');
+        if (grammarStart < 0) {
+            return false;
+        }
         for (String property : particlesNames) {
-            if (wordBase.toUpperCase().contains(property)) {
+            if (wordBase.startsWith(property, grammarStart + 1)) {
                 return true;
             }
         }
         return false;
     }
 
-    private String[] arrayContainsRussianWords(String text) {
-        return text.toLowerCase(Locale.ROOT)
-                .replaceAll("([^а-я\\s])", " ")
-                .trim()
-                .split("\\s+");
+    private static class WordForm {
+        private final String normalForm;
+        private final boolean particle;
+
+        private WordForm(String normalForm, boolean particle) {
+            this.normalForm = normalForm;
+            this.particle = particle;
+        }
     }
 
-    private boolean isCorrectWordForm(String word) {
-        List<String> wordInfo = luceneMorphology.getMorphInfo(word);
-        for (String morphInfo : wordInfo) {
-            if (morphInfo.matches(WORD_TYPE_REGEX)) {
-                return false;
+    private static class Positions {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
             }
+            values[size++] = position;
         }
-        return true;
     }
-}
\ No newline at end of file
+}
@@ -1,94 +1,189 @@
 package searchengine.utilities;
 
 import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import lombok.RequiredArgsConstructor;
-import org.jsoup.Connection;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import searchengine.config.IndexingSettings;
+import searchengine.dto.crawl.FetchResult;
+import searchengine.dto.crawl.FrontierEntry;
+import searchengine.dto.crawl.PageState;
 import searchengine.model.Page;
 import searchengine.model.Site;
 import searchengine.repository.*;
-import searchengine.services.IndexingService;
+import searchengine.services.FetchScheduler;
+import searchengine.services.IndexGenerations;
 import searchengine.services.IndexingServiceImpl;
 
-@RequiredArgsConstructor
-public class LinkExecutor extends RecursiveTask<List<Page>> implements Runnable {
+public class LinkExecutor implements Runnable {
+    private static final long POLL_TIMEOUT_MS = 200;
     private final SiteRepository siteRepository;
-    private final PageRepository pageRepository;
-    private String url;
-    private Site site;
-    private IndexingService indexingService;
+    private final IndexGenerations indexGenerations;
+    private final IndexingPipeline pipeline;
+    private final FetchScheduler fetchScheduler;
+    private final Site site;
+    private final String host;
+    private final int maxInFlight;
+    private final UrlFilter urlFilter;
+    private final UrlFrontier frontier;
+    private final Path checkpointFile;
+    private final long checkpointInterval;
+    private final Map<String, FrontierEntry> inProgress = new ConcurrentHashMap<>();
+    private final BlockingQueue<FetchedPage> fetched = new LinkedBlockingQueue<>();
+    private FingerprintSet persisted;
+    private boolean restored;
+    private Map<String, PageState> knownPages;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger pages = new AtomicInteger();
+    private final AtomicInteger unchangedPages = new AtomicInteger();
     public volatile static boolean stoppedByUser = false;
-    public static CopyOnWriteArrayList<String> allLinks = new CopyOnWriteArrayList<>();
 
-    public LinkExecutor(SiteRepository siteRepository, PageRepository pageRepository, String url, Site site, IndexingService indexingService) {
+    public LinkExecutor(SiteRepository siteRepository, IndexGenerations indexGenerations, IndexingPipeline pipeline,
+                        FetchScheduler fetchScheduler, Site site, UrlFilter urlFilter, IndexingSettings indexingSettings) {
         this.siteRepository = siteRepository;
-        this.pageRepository = pageRepository;
-        this.url = url;
+        this.indexGenerations = indexGenerations;
+        this.pipeline = pipeline;
+        this.fetchScheduler = fetchScheduler;
         this.site = site;
-        this.indexingService = indexingService;
+        this.urlFilter = urlFilter;
+        this.host = URI.create(site.getUrl()).getHost();
+        this.maxInFlight = indexingSettings.getConnectionsPerHost();
+        this.frontier = new UrlFrontier(host, indexingSettings.getFrontierMemoryLimit(),
+                Path.of(indexingSettings.getFrontierSpillDirectory()));
+        this.checkpointFile = CrawlCheckpoint.path(indexingSettings.getCheckpointDirectory(), site);
+        this.checkpointInterval = TimeUnit.MILLISECONDS.toNanos(indexingSettings.getCheckpointInterval());
+        pipeline.setPersistListener(pages -> pages.forEach(page -> inProgress.remove(page.getPath())));
     }
 
-    @Override
-    protected List<Page> compute() {
-        List<Page> pages = new ArrayList<Page>();
-        System.out.println(url);
+    public void restore(Collection<String> persistedPaths) {
+        persisted = new FingerprintSet();
+        persistedPaths.forEach(path -> persisted.add(UrlCanonicalizer.key(path)));
         try {
-            if (stoppedByUser) {
-                return pages;
-            }
-        } catch (Exception e) {
+            CrawlCheckpoint.load(checkpointFile, site, frontier);
+        } catch (IOException e) {
             e.printStackTrace();
+            frontier.clear();
+            System.out.println("Не удалось прочитать контрольную точку сайта " + site.getName() +
+                    ", обход начат заново без повторного сохранения " + persistedPaths.size() + " страниц");
+            return;
+        }
+        restored = true;
+        System.out.println("Индексация сайта " + site.getName() + " продолжена: в очереди " + frontier.size() +
+                ", сохранено страниц " + persistedPaths.size());
+    }
+
+    public void recrawl(List<PageState> pageStates) {
+        knownPages = new HashMap<>();
+        frontier.add(urlFilter.root(), 0);
+        for (PageState pageState : pageStates) {
+            knownPages.put(pageState.getPath(), pageState);
+            frontier.add(pageState.getPath(), 1);
         }
-        Page page = new Page(site, url, 200, "");
-        site.getPages().add(page);
+        System.out.println("Обновление индекса сайта " + site.getName() + ": известно страниц " + pageStates.size());
+    }
+
+    private void crawl() throws InterruptedException {
+        if (!restored) {
+            frontier.add(urlFilter.root(), 0);
+        }
+        long nextCheckpoint = System.nanoTime() + checkpointInterval;
+        while (!stoppedByUser && !pipeline.isFailed()) {
+            if (knownPages == null && System.nanoTime() - nextCheckpoint >= 0) {
+                checkpoint();
+                nextCheckpoint = System.nanoTime() + checkpointInterval;
+            }
+            boolean canFetch = inFlight.get() < maxInFlight && !frontier.isEmpty();
+            FetchedPage fetchedPage = canFetch ? fetched.poll() : fetched.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (fetchedPage != null) {
+                handOff(fetchedPage);
+                continue;
+            }
+            if (!canFetch) {
+                if (inFlight.get() == 0 && frontier.isEmpty()) break;
+                continue;
+            }
+            FrontierEntry entry = frontier.poll(0, TimeUnit.MILLISECONDS);
+            if (entry == null) {
+                continue;
+            }
+            inProgress.put(entry.getUrl(), entry);
+            inFlight.incrementAndGet();
+            fetchScheduler.submit(host, () -> crawlPage(entry)).whenComplete((result, e) -> {
+                if (e != null) e.printStackTrace();
+                fetched.add(result == null ? FetchedPage.NOTHING : result);
+            });
+        }
+        while (inFlight.get() > 0) {
+            FetchedPage fetchedPage = fetched.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (fetchedPage != null) {
+                handOff(fetchedPage);
+            }
+        }
+    }
+
+    private void handOff(FetchedPage fetchedPage) throws InterruptedException {
+        try {
+            if (fetchedPage.page != null) {
+                submit(fetchedPage.page, fetchedPage.document);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private FetchedPage crawlPage(FrontierEntry entry) {
+        String url = entry.getUrl();
+        System.out.println(url);
+        if (stoppedByUser) {
+            return null;
+        }
+        Page page = new Page(site, url, 200);
+        PageState known = knownPages == null ? null : knownPages.get(url);
         site.setStatusTime(LocalDateTime.now());
-        List<LinkExecutor> allTasks = new CopyOnWriteArrayList<>();
-        Document document;
-        Elements elements;
         try {
-            Thread.sleep(150);
-            Connection.Response response = Jsoup.connect(url).userAgent("Mozilla/5.0").execute();
-            int statusCode = response.statusCode();
-            if (statusCode != 200) {
-                page.setCode(response.statusCode());
-                return pages;
+            FetchResult fetchResult;
+            if (known == null) {
+                fetchResult = PageFetcher.fetch(url);
+            } else {
+                page.setId(known.getId());
+                page.setContentHash(known.getContentHash());
+                fetchResult = PageFetcher.fetch(url, known.getEtag(), known.getLastModified());
+            }
+            if (fetchResult.isNotModified()) {
+                unchangedPages.incrementAndGet();
+                inProgress.remove(url);
+                return null;
             }
-            document = Jsoup.connect(url).ignoreContentType(true).userAgent("Mozilla/5.0").get();
-            page.setContent(document.outerHtml());
-            pageRepository.saveAndFlush(page);
-            elements = document.select("a[href]");
+            page.setEtag(fetchResult.getEtag());
+            page.setLastModified(fetchResult.getLastModified());
+            if (!fetchResult.isHtml()) {
+                page.setCode(fetchResult.getStatusCode());
+                return new FetchedPage(page, null);
+            }
+            Document document = fetchResult.getDocument();
+            Elements elements = document.select("a[href]");
             for (Element element : elements) {
-                String attributeUrl = element.absUrl("href").toLowerCase();
-                if (!attributeUrl.isEmpty() && attributeUrl.startsWith(url) && !allLinks.contains(attributeUrl)
-                        && !attributeUrl.contains("#") && !attributeUrl.contains("?") && !attributeUrl.contains("&")
-                        && !attributeUrl.contains(".jpg") && !attributeUrl.contains(".pdf") && !attributeUrl.contains(".png")
-                        && !attributeUrl.contains(".jpeg") && !attributeUrl.contains(".jfif") && !attributeUrl.contains(".doc")
-                        && !attributeUrl.contains(".docx") && !attributeUrl.contains(".xls") && !attributeUrl.contains(".xlsx")
-                        && !attributeUrl.contains(".pptx") && !attributeUrl.contains(".rtf") && !attributeUrl.contains(".mp4")
-                        && !attributeUrl.contains(".gif")) {
-                    LinkExecutor linkExecutor = new LinkExecutor(siteRepository, pageRepository, attributeUrl, site, indexingService);
-                    linkExecutor.fork();
-                    allTasks.add(linkExecutor);
-                    allLinks.add(attributeUrl);
+                String attributeUrl = urlFilter.apply(element.absUrl("href"));
+                if (attributeUrl != null) {
+                    frontier.add(attributeUrl, entry.getDepth() + 1);
                 }
             }
-        } catch (InterruptedException | IOException e) {
-            String message = e.toString();
-            setErrorCode(page, message);
-        }
-        pages.add(page);
-        for (LinkExecutor link : allTasks) {
-            pages.addAll(link.join());
+            pages.incrementAndGet();
+            return new FetchedPage(page, document);
+        } catch (IOException e) {
+            setErrorCode(page, e.toString());
+            return new FetchedPage(page, null);
         }
-        return pages;
     }
 
     private void setErrorCode(Page page, String message) {
@@ -115,41 +210,75 @@ public class LinkExecutor extends RecursiveTask<List<Page>> implements Runnable
             errorCode = -1;
         }
         page.setCode(errorCode);
-        pageRepository.saveAndFlush(page);
     }
 
-    @Override
-    public void run() {
-        List<Page> list = new ForkJoinPool().invoke(this);
-        System.out.println("На сайте " + site.getName() + " найдено страниц " + list.size());
-        if (stoppedByUser){
-            site.setType(Site.Type.FAILED.name());
-            site.setLastError("Индексация прервана пользователем");
+    private void submit(Page page, Document document) throws InterruptedException {
+        if (persisted != null && persisted.contains(UrlCanonicalizer.key(page.getPath()))) {
+            inProgress.remove(page.getPath());
+            return;
         }
+        if (document == null && page.getId() != 0 && knownPages.get(page.getPath()).getCode() == page.getCode()) {
+            unchangedPages.incrementAndGet();
+            inProgress.remove(page.getPath());
+            return;
+        }
+        pipeline.submit(page, document);
+    }
+
+    private void checkpoint() {
         try {
-            createLemmas(list);
+            CrawlCheckpoint.save(checkpointFile, site, frontier, inProgress.values());
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            e.printStackTrace();
         }
-        IndexingServiceImpl.sitesInProcessingIndexing.remove(site.getUrl());
     }
 
-    public synchronized  void createLemmas(List<Page> list) throws IOException {
-        for (Page page:list) {
-            if (stoppedByUser){
-                site.setStatusTime(LocalDateTime.now());
+    @Override
+    public void run() {
+        try {
+            crawl();
+            System.out.println("На сайте " + site.getName() + " найдено страниц " + pages.get() +
+                    (knownPages == null ? "" : ", не изменилось " + unchangedPages.get()));
+            pipeline.finish();
+            if ((stoppedByUser || pipeline.isFailed()) && knownPages == null) {
+                checkpoint();
+            } else {
+                CrawlCheckpoint.delete(checkpointFile);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            frontier.close();
+        }
+        site.setStatusTime(LocalDateTime.now());
+        if (pipeline.isFailed()) {
+            if (knownPages == null) {
                 site.setType(Site.Type.FAILED.name());
-                site.setLastError("Индексация прервана пользователем");
-                siteRepository.saveAndFlush(site);
-                return;
             }
-            indexingService.createLemmasAndIndices(site, page);
-            site.setStatusTime(LocalDateTime.now());
+            site.setLastError("Индексация остановлена из-за ошибки сохранения страниц: " + pipeline.getFailure());
+        } else if (stoppedByUser && knownPages != null) {
+            site.setLastError("Обновление индекса прервано пользователем");
+        } else if (stoppedByUser){
+            site.setType(Site.Type.FAILED.name());
+            site.setLastError("Индексация прервана пользователем");
+        }
+        if (stoppedByUser || pipeline.isFailed()) {
             siteRepository.saveAndFlush(site);
+        } else {
+            indexGenerations.publish(site);
+            System.out.println("Завершено построение лемм и индексов для сайта " + site);
         }
-        site.setType(Site.Type.INDEXED.name());
-        siteRepository.saveAndFlush(site);
-        System.out.println("Завершено построение лемм и индексов для сайта " + site);
+        IndexingServiceImpl.sitesInProcessingIndexing.remove(site.getUrl());
     }
 
+    private static class FetchedPage {
+        private static final FetchedPage NOTHING = new FetchedPage(null, null);
+        private final Page page;
+        private final Document document;
+
+        private FetchedPage(Page page, Document document) {
+            this.page = page;
+            this.document = document;
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package searchengine.utilities;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import searchengine.dto.crawl.FetchResult;
+
+import java.io.IOException;
+
+public class PageFetcher {
+    public static final String USER_AGENT = "Mozilla/5.0";
+    public static final int UNSUPPORTED_MEDIA_TYPE = 415;
+    private static final int TIMEOUT_MS = 30_000;
+    private static final int MAX_ETAG_LENGTH = 255;
+    private static final int MAX_LAST_MODIFIED_LENGTH = 64;
+
+    private PageFetcher() {
+        throw new RuntimeException("Disallow construct");
+    }
+
+    public static FetchResult fetch(String url) throws IOException {
+        return fetch(url, null, null);
+    }
+
+    public static FetchResult fetch(String url, String etag, String lastModified) throws IOException {
+        Connection connection = Jsoup.connect(url)
+                .userAgent(USER_AGENT)
+                .timeout(TIMEOUT_MS)
+                .ignoreHttpErrors(true)
+                .ignoreContentType(true);
+        if (etag != null) {
+            connection.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            connection.header("If-Modified-Since", lastModified);
+        }
+        Connection.Response response = connection.execute();
+        FetchResult result = new FetchResult(url, response.statusCode(), response.contentType(), response.headers());
+        result.setEtag(limit(response.header("ETag"), MAX_ETAG_LENGTH));
+        result.setLastModified(limit(response.header("Last-Modified"), MAX_LAST_MODIFIED_LENGTH));
+        if (response.statusCode() != 200 || !isHtml(response.contentType())) {
+            discardBody(response);
+            if (response.statusCode() == 200) {
+                result.setStatusCode(UNSUPPORTED_MEDIA_TYPE);
+            }
+            return result;
+        }
+        result.setDocument(response.parse());
+        return result;
+    }
+
+    public static boolean isHtml(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/html") || type.startsWith("application/xhtml+xml");
+    }
+
+    private static String limit(String header, int maxLength) {
+        return header == null || header.length() > maxLength ? null : header;
+    }
+
+    private static void discardBody(Connection.Response response) {
+        try {
+            response.bodyStream().close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package searchengine.utilities;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+public class PositionCodec {
+
+    private PositionCodec() {
+        throw new RuntimeException("Disallow construct");
+    }
+
+    public static byte[] encode(int[] positions) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(positions.length + 4);
+        int previous = 0;
+        for (int position : positions) {
+            int delta = position - previous;
+            previous = position;
+            while ((delta & ~0x7F) != 0) {
+                out.write((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out.write(delta);
+        }
+        return out.toByteArray();
+    }
+
+    public static int[] decode(byte[] bytes) {
+        if (bytes == null) {
+            return new int[0];
+        }
+        int[] positions = new int[bytes.length];
+        int size = 0;
+        int previous = 0;
+        int value = 0;
+        int shift = 0;
+        for (byte b : bytes) {
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) != 0) {
+                shift += 7;
+                continue;
+            }
+            previous += value;
+            positions[size++] = previous;
+            value = 0;
+            shift = 0;
+        }
+        return Arrays.copyOf(positions, size);
+    }
+}
@@ -0,0 +1,50 @@
+package searchengine.utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+public class PostingIntersection {
+    private static final int CANCELLATION_CHECK_MASK = 1023;
+
+    private PostingIntersection() {
+        throw new RuntimeException("Disallow construct");
+    }
+
+    public static int[] intersect(List<PostingList> postingLists) {
+        if (postingLists.isEmpty()) {
+            return new int[0];
+        }
+        List<PostingList> lists = new ArrayList<>(postingLists);
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        PostingList rarest = lists.get(0);
+        if (rarest.isEmpty()) {
+            return new int[0];
+        }
+        int[] result = new int[rarest.size()];
+        int resultSize = 0;
+        int[] cursors = new int[lists.size()];
+        candidates:
+        for (int i = 0; i < rarest.size(); i++) {
+            if ((i & CANCELLATION_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Пересечение прервано");
+            }
+            int pageId = rarest.pageId(i);
+            for (int l = 1; l < lists.size(); l++) {
+                PostingList postingList = lists.get(l);
+                int position = postingList.advance(cursors[l], pageId);
+                cursors[l] = position;
+                if (position >= postingList.size()) {
+                    break candidates;
+                }
+                if (postingList.pageId(position) != pageId) {
+                    continue candidates;
+                }
+            }
+            result[resultSize++] = pageId;
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+}
@@ -0,0 +1,111 @@
+package searchengine.utilities;
+
+import java.util.Arrays;
+
+public class PostingList {
+    private static final int INITIAL_CAPACITY = 4;
+    private int[] pageIds;
+    private int[] ranks;
+    private int size;
+
+    public PostingList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public PostingList(int capacity) {
+        pageIds = new int[Math.max(capacity, 1)];
+        ranks = new int[Math.max(capacity, 1)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int pageId(int position) {
+        return pageIds[position];
+    }
+
+    public int rank(int position) {
+        return ranks[position];
+    }
+
+    public int indexOf(int pageId) {
+        return Arrays.binarySearch(pageIds, 0, size, pageId);
+    }
+
+    public int advance(int from, int pageId) {
+        if (from >= size || pageIds[from] >= pageId) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        int high = from + step;
+        while (high < size && pageIds[high] < pageId) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        int position = Arrays.binarySearch(pageIds, low + 1, Math.min(high, size - 1) + 1, pageId);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    public int rankOf(int pageId) {
+        int position = indexOf(pageId);
+        return position < 0 ? 0 : ranks[position];
+    }
+
+    public void add(int pageId, int rank) {
+        if (size == 0 || pageIds[size - 1] < pageId) {
+            ensureCapacity(size + 1);
+            pageIds[size] = pageId;
+            ranks[size] = rank;
+            size++;
+            return;
+        }
+        int position = indexOf(pageId);
+        if (position >= 0) {
+            ranks[position] = rank;
+            return;
+        }
+        position = -position - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(pageIds, position, pageIds, position + 1, size - position);
+        System.arraycopy(ranks, position, ranks, position + 1, size - position);
+        pageIds[position] = pageId;
+        ranks[position] = rank;
+        size++;
+    }
+
+    public boolean remove(int pageId) {
+        int position = indexOf(pageId);
+        if (position < 0) return false;
+        System.arraycopy(pageIds, position + 1, pageIds, position, size - position - 1);
+        System.arraycopy(ranks, position + 1, ranks, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    public void trimToSize() {
+        if (pageIds.length > size) {
+            pageIds = Arrays.copyOf(pageIds, Math.max(size, 1));
+            ranks = Arrays.copyOf(ranks, Math.max(size, 1));
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > pageIds.length) {
+            int newCapacity = Math.max(capacity, pageIds.length + (pageIds.length >> 1));
+            pageIds = Arrays.copyOf(pageIds, newCapacity);
+            ranks = Arrays.copyOf(ranks, newCapacity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "size: " + size;
+    }
+}
@@ -0,0 +1,79 @@
+package searchengine.utilities;
+
+import java.util.Arrays;
+
+public class RussianWordTokenizer {
+
+    public interface TokenConsumer {
+        void accept(String word, int position, int start, int end);
+    }
+
+    private RussianWordTokenizer() {
+        throw new RuntimeException("Disallow construct");
+    }
+
+    public static int tokenize(CharSequence text, TokenConsumer consumer) {
+        char[] buffer = new char[32];
+        int length = 0;
+        int start = 0;
+        int position = 0;
+        int textLength = text.length();
+        for (int i = 0; i <= textLength; i++) {
+            char c = i < textLength ? toLowerRussian(text.charAt(i)) : 0;
+            if (c != 0) {
+                if (length == 0) {
+                    start = i;
+                }
+                if (length == buffer.length) {
+                    char[] grown = new char[buffer.length * 2];
+                    System.arraycopy(buffer, 0, grown, 0, length);
+                    buffer = grown;
+                }
+                buffer[length++] = c;
+            } else if (length > 0) {
+                consumer.accept(new String(buffer, 0, length), position++, start, i);
+                length = 0;
+            }
+        }
+        return position;
+    }
+
+    public static int[] locate(CharSequence text, int fromPosition, int toPosition) {
+        int[] offsets = new int[(toPosition - fromPosition + 1) * 2];
+        Arrays.fill(offsets, -1);
+        int position = 0;
+        int start = -1;
+        int textLength = text.length();
+        for (int i = 0; i <= textLength && position <= toPosition; i++) {
+            boolean letter = i < textLength && isRussianLetter(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                if (position >= fromPosition) {
+                    offsets[(position - fromPosition) * 2] = start;
+                    offsets[(position - fromPosition) * 2 + 1] = i;
+                }
+                position++;
+                start = -1;
+            }
+        }
+        return offsets;
+    }
+
+    public static boolean isRussianLetter(char c) {
+        return toLowerRussian(c) != 0;
+    }
+
+    private static char toLowerRussian(char c) {
+        if (c >= 'а' && c <= 'я') {
+            return c;
+        }
+        if (c >= 'А' && c <= 'Я') {
+            return (char) (c + ('а' - 'А'));
+        }
+        if (c == 'ё' || c == 'Ё') {
+            return 'е';
+        }
+        return 0;
+    }
+}
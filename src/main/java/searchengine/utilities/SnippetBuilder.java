@@ -0,0 +1,93 @@
+package searchengine.utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class SnippetBuilder {
+    public static final int WINDOW_SIZE = 30;
+
+    private SnippetBuilder() {
+        throw new RuntimeException("Disallow construct");
+    }
+
+    public static String build(String text, Collection<int[]> lemmaPositions) {
+        return build(text, lemmaPositions, WINDOW_SIZE);
+    }
+
+    public static String build(String text, Collection<int[]> lemmaPositions, int windowSize) {
+        List<int[]> hits = new ArrayList<>();
+        int lemmaIndex = 0;
+        for (int[] positions : lemmaPositions) {
+            for (int position : positions) {
+                hits.add(new int[]{position, lemmaIndex});
+            }
+            lemmaIndex++;
+        }
+        if (hits.isEmpty() || text == null) {
+            return "";
+        }
+        hits.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        int[] lemmaHits = new int[lemmaIndex];
+        int covered = 0;
+        int bestCovered = 0;
+        int bestHits = 0;
+        int bestFirst = hits.get(0)[0];
+        int bestLast = bestFirst;
+        int left = 0;
+        for (int right = 0; right < hits.size(); right++) {
+            if (lemmaHits[hits.get(right)[1]]++ == 0) covered++;
+            while (hits.get(right)[0] - hits.get(left)[0] >= windowSize) {
+                if (--lemmaHits[hits.get(left)[1]] == 0) covered--;
+                left++;
+            }
+            int hitCount = right - left + 1;
+            if (covered > bestCovered || (covered == bestCovered && hitCount > bestHits)) {
+                bestCovered = covered;
+                bestHits = hitCount;
+                bestFirst = hits.get(left)[0];
+                bestLast = hits.get(right)[0];
+            }
+        }
+
+        int from = Math.max(0, bestFirst - (windowSize - (bestLast - bestFirst + 1)) / 2);
+        int to = from + windowSize - 1;
+        int[] offsets = RussianWordTokenizer.locate(text, from, to);
+        int start = offsets[0];
+        if (start < 0) {
+            return "";
+        }
+        int last = to - from;
+        while (offsets[last * 2] < 0) last--;
+        int end = offsets[last * 2 + 1];
+
+        StringBuilder snippet = new StringBuilder(end - start + 32);
+        if (from > 0) snippet.append("... ");
+        int written = start;
+        for (int[] hit : hits) {
+            int position = hit[0];
+            if (position < from || position > from + last) continue;
+            int tokenStart = offsets[(position - from) * 2];
+            int tokenEnd = offsets[(position - from) * 2 + 1];
+            if (tokenStart < written) continue;
+            snippet.append(text, written, tokenStart).append("<b>").append(text, tokenStart, tokenEnd).append("</b>");
+            written = tokenEnd;
+        }
+        if (hasWordsAfter(text, end)) {
+            snippet.append(text, written, end).append(" ...");
+        } else {
+            snippet.append(text, written, text.length());
+        }
+        return snippet.toString();
+    }
+
+    private static boolean hasWordsAfter(String text, int offset) {
+        for (int i = offset; i < text.length(); i++) {
+            if (RussianWordTokenizer.isRussianLetter(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
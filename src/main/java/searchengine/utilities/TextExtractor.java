@@ -0,0 +1,43 @@
+package searchengine.utilities;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import searchengine.model.Page;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class TextExtractor {
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private TextExtractor() {
+        throw new RuntimeException("Disallow construct");
+    }
+
+    public static void fillPage(Page page, Document document) {
+        page.setTitle(extractTitle(document));
+        page.setText(extractText(document));
+        page.setContentHash(hash(page.getText()));
+    }
+
+    public static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String extractTitle(Document document) {
+        String title = document.title();
+        return title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title;
+    }
+
+    public static String extractText(Document document) {
+        Element body = document.body();
+        return body == null ? document.text() : body.text();
+    }
+}
@@ -0,0 +1,63 @@
+package searchengine.utilities;
+
+import searchengine.dto.search.RankedPage;
+import searchengine.dto.search.RankingResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+
+public class TopKRanker {
+    public static final Comparator<RankedPage> BY_RELEVANCE = Comparator
+            .comparing(RankedPage::getAbsRelevance, Comparator.reverseOrder())
+            .thenComparingInt(RankedPage::getPageId);
+
+    private static final int CANCELLATION_CHECK_MASK = 1023;
+
+    private TopKRanker() {
+        throw new RuntimeException("Disallow construct");
+    }
+
+    public static RankingResult rank(int[] pageIds, Collection<PostingList> postingLists, int offset, int limit) {
+        int topSize = Math.max(offset, 0) + Math.max(limit, 0);
+        PriorityQueue<RankedPage> heap = new PriorityQueue<>(Math.max(Math.min(topSize, pageIds.length), 1),
+                BY_RELEVANCE.reversed());
+        float maxAbsRelevance = 0;
+        for (int i = 0; i < pageIds.length; i++) {
+            if ((i & CANCELLATION_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Ранжирование прервано");
+            }
+            int pageId = pageIds[i];
+            float absRelevance = 0;
+            for (PostingList postingList : postingLists) {
+                absRelevance += postingList.rankOf(pageId);
+            }
+            maxAbsRelevance = Math.max(maxAbsRelevance, absRelevance);
+            if (topSize == 0) {
+                continue;
+            }
+            RankedPage rankedPage = new RankedPage(pageId, absRelevance);
+            if (heap.size() < topSize) {
+                heap.add(rankedPage);
+            } else if (BY_RELEVANCE.compare(rankedPage, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(rankedPage);
+            }
+        }
+        List<RankedPage> top = new ArrayList<>(heap);
+        top.sort(BY_RELEVANCE);
+        List<RankedPage> pages = top.size() > offset ? new ArrayList<>(top.subList(Math.max(offset, 0), top.size()))
+                : new ArrayList<>();
+        normalize(pages, maxAbsRelevance);
+        return new RankingResult(pages, pageIds.length, maxAbsRelevance);
+    }
+
+    public static void normalize(List<RankedPage> pages, float maxAbsRelevance) {
+        for (RankedPage page : pages) {
+            page.setRelevance(maxAbsRelevance == 0 ? 0 : page.getAbsRelevance() / maxAbsRelevance);
+        }
+    }
+}
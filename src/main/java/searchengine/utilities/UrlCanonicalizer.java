@@ -0,0 +1,72 @@
+package searchengine.utilities;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public class UrlCanonicalizer {
+
+    private UrlCanonicalizer() {
+        throw new RuntimeException("Disallow construct");
+    }
+
+    public static URI canonicalize(String url) {
+        URI uri;
+        try {
+            uri = new URI(url.trim()).normalize();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            return null;
+        }
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        int port = uri.getPort();
+        if ((port == 80 && scheme.equals("http")) || (port == 443 && scheme.equals("https"))) {
+            port = -1;
+        }
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        String query = canonicalQuery(uri.getRawQuery());
+        StringBuilder canonical = new StringBuilder(scheme).append("://").append(host);
+        if (port != -1) canonical.append(':').append(port);
+        canonical.append(path);
+        if (!query.isEmpty()) canonical.append('?').append(query);
+        return URI.create(canonical.toString());
+    }
+
+    public static String key(String canonicalUrl) {
+        int query = canonicalUrl.indexOf('?');
+        String base = query == -1 ? canonicalUrl : canonicalUrl.substring(0, query);
+        int end = base.length();
+        while (end > 0 && base.charAt(end - 1) == '/') {
+            end--;
+        }
+        return base.substring(0, end) + (query == -1 ? "" : canonicalUrl.substring(query));
+    }
+
+    public static String hostKey(String host) {
+        String lowerHost = host.toLowerCase(Locale.ROOT);
+        return lowerHost.startsWith("www.") ? lowerHost.substring(4) : lowerHost;
+    }
+
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> parameters = new ArrayList<>();
+        for (String parameter : rawQuery.split("&")) {
+            String name = parameter.split("=", 2)[0].toLowerCase(Locale.ROOT);
+            if (parameter.isEmpty() || name.startsWith("utm_") || name.equals("fbclid")
+                    || name.equals("gclid") || name.equals("yclid")) {
+                continue;
+            }
+            parameters.add(parameter);
+        }
+        Collections.sort(parameters);
+        return String.join("&", parameters);
+    }
+}
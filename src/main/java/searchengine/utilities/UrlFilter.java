@@ -0,0 +1,95 @@
+package searchengine.utilities;
+
+import searchengine.config.SiteUrlName;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class UrlFilter {
+    private static final Set<String> EXCLUDED_EXTENSIONS = Set.of(
+            "jpg", "jpeg", "jfif", "png", "gif", "bmp", "svg", "webp", "ico", "tif", "tiff",
+            "pdf", "doc", "docx", "xls", "xlsx", "ppt", "pptx", "rtf", "odt", "ods",
+            "mp3", "mp4", "avi", "mov", "wmv", "webm", "ogg", "wav",
+            "zip", "rar", "7z", "gz", "tar", "exe", "apk", "dmg",
+            "css", "js", "json", "xml", "txt", "woff", "woff2", "ttf", "eot");
+    private final String scheme;
+    private final String host;
+    private final int port;
+    private final String hostKey;
+    private final String sitePath;
+    private final String root;
+    private final boolean allowQuery;
+    private final List<Pattern> includes = new ArrayList<>();
+    private final List<Pattern> excludes = new ArrayList<>();
+
+    public UrlFilter(SiteUrlName siteUrlName) {
+        URI siteUri = UrlCanonicalizer.canonicalize(siteUrlName.getUrl());
+        if (siteUri == null) {
+            throw new IllegalArgumentException("Некорректный адрес сайта " + siteUrlName.getUrl());
+        }
+        scheme = siteUri.getScheme();
+        host = siteUri.getHost();
+        port = siteUri.getPort();
+        hostKey = UrlCanonicalizer.hostKey(host);
+        sitePath = UrlCanonicalizer.key(siteUri.getRawPath() == null ? "" : siteUri.getRawPath());
+        root = siteUri.toString();
+        allowQuery = siteUrlName.isAllowQuery();
+        for (String include : siteUrlName.getInclude()) {
+            includes.add(Pattern.compile(include));
+        }
+        for (String exclude : siteUrlName.getExclude()) {
+            excludes.add(Pattern.compile(exclude));
+        }
+    }
+
+    public String apply(String url) {
+        if (url == null || url.isEmpty()) {
+            return null;
+        }
+        URI uri = UrlCanonicalizer.canonicalize(url);
+        if (uri == null || !(uri.getScheme().equals("http") || uri.getScheme().equals("https"))
+                || !UrlCanonicalizer.hostKey(uri.getHost()).equals(hostKey) || uri.getPort() != port) {
+            return null;
+        }
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        if (!isUnderSitePath(path) || hasExcludedExtension(path)) {
+            return null;
+        }
+        if (uri.getRawQuery() != null && !allowQuery) {
+            return null;
+        }
+        String pathAndQuery = uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+        for (Pattern exclude : excludes) {
+            if (exclude.matcher(pathAndQuery).find()) return null;
+        }
+        if (!includes.isEmpty() && includes.stream().noneMatch(include -> include.matcher(pathAndQuery).find())) {
+            return null;
+        }
+        return origin() + pathAndQuery;
+    }
+
+    public String root() {
+        return root;
+    }
+
+    private String origin() {
+        return scheme + "://" + host + (port == -1 ? "" : ":" + port);
+    }
+
+    private boolean isUnderSitePath(String path) {
+        return sitePath.isEmpty() || path.equals(sitePath) || path.startsWith(sitePath + "/");
+    }
+
+    private static boolean hasExcludedExtension(String path) {
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (dot <= slash) {
+            return false;
+        }
+        return EXCLUDED_EXTENSIONS.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,230 @@
+package searchengine.utilities;
+
+import searchengine.dto.crawl.FrontierEntry;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class UrlFrontier implements Closeable {
+    private FingerprintSet visited = new FingerprintSet();
+    private final PriorityQueue<FrontierEntry> queue = new PriorityQueue<>(
+            Comparator.comparingInt(FrontierEntry::getDepth));
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final int memoryLimit;
+    private final Path spillDirectory;
+    private final String name;
+    private Path spillFile;
+    private BufferedWriter spillWriter;
+    private BufferedReader spillReader;
+    private long spilled;
+    private long unspilled;
+
+    public UrlFrontier(String name, int memoryLimit, Path spillDirectory) {
+        this.name = name;
+        this.memoryLimit = memoryLimit;
+        this.spillDirectory = spillDirectory;
+    }
+
+    public boolean add(String url, int depth) {
+        lock.lock();
+        try {
+            if (!visited.add(UrlCanonicalizer.key(url))) {
+                return false;
+            }
+            enqueue(new FrontierEntry(url, depth));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public FrontierEntry poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (queue.isEmpty() && !hasSpilled()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            int refill = Math.max(memoryLimit / 2, 1);
+            if (queue.size() < refill && hasSpilled()) {
+                unspill(refill);
+            }
+            return queue.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return queue.isEmpty() && !hasSpilled();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long size() {
+        lock.lock();
+        try {
+            return queue.size() + spilled - unspilled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void write(DataOutput out, Collection<FrontierEntry> inProgress) throws IOException {
+        List<FrontierEntry> pending = new ArrayList<>(inProgress);
+        lock.lock();
+        try {
+            visited.write(out);
+            out.writeLong(pending.size() + queue.size() + spilled - unspilled);
+            for (FrontierEntry entry : pending) {
+                writeEntry(out, entry);
+            }
+            for (FrontierEntry entry : queue) {
+                writeEntry(out, entry);
+            }
+            if (hasSpilled()) {
+                spillWriter.flush();
+                try (BufferedReader reader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+                    for (long i = 0; i < spilled; i++) {
+                        String line = reader.readLine();
+                        if (i >= unspilled) writeEntry(out, parseEntry(line));
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void read(DataInput in) throws IOException {
+        lock.lock();
+        try {
+            visited.read(in);
+            long pending = in.readLong();
+            for (long i = 0; i < pending; i++) {
+                int depth = in.readInt();
+                enqueue(new FrontierEntry(in.readUTF(), depth));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void writeEntry(DataOutput out, FrontierEntry entry) throws IOException {
+        out.writeInt(entry.getDepth());
+        out.writeUTF(entry.getUrl());
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            visited = new FingerprintSet();
+            queue.clear();
+            closeSpill();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closeSpill();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(FrontierEntry entry) {
+        lock.lock();
+        try {
+            if (queue.size() >= memoryLimit || hasSpilled()) {
+                spill(entry);
+            } else {
+                queue.add(entry);
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean hasSpilled() {
+        return spilled > unspilled;
+    }
+
+    private void spill(FrontierEntry entry) {
+        try {
+            if (spillWriter == null) {
+                Files.createDirectories(spillDirectory);
+                spillFile = Files.createTempFile(spillDirectory, "frontier-" + name + "-", ".txt");
+                spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8);
+                spillReader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8);
+            }
+            spillWriter.write(entry.getDepth() + "\t" + entry.getUrl());
+            spillWriter.newLine();
+            spilled++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void unspill(int count) {
+        try {
+            spillWriter.flush();
+            for (int i = 0; i < count && hasSpilled(); i++) {
+                queue.add(parseEntry(spillReader.readLine()));
+                unspilled++;
+            }
+            if (!hasSpilled()) {
+                closeSpill();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FrontierEntry parseEntry(String line) {
+        int tab = line.indexOf('\t');
+        return new FrontierEntry(line.substring(tab + 1), Integer.parseInt(line.substring(0, tab)));
+    }
+
+    private void closeSpill() {
+        try {
+            if (spillWriter != null) spillWriter.close();
+            if (spillReader != null) spillReader.close();
+            if (spillFile != null) Files.deleteIfExists(spillFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        spillWriter = null;
+        spillReader = null;
+        spillFile = null;
+        spilled = 0;
+        unspilled = 0;
+    }
+}
@@ -0,0 +1,105 @@
+package searchengine.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import searchengine.config.IndexingSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FetchSchedulerTest {
+    private FetchScheduler fetchScheduler;
+
+    @AfterEach
+    void shutdown() {
+        fetchScheduler.shutdown();
+    }
+
+    @Test
+    void spacesRequestsToOneHostByPolitenessDelay() {
+        fetchScheduler = new FetchScheduler(settings(4, 4, 100));
+        long start = System.nanoTime();
+        List<CompletableFuture<Long>> fetches = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            fetches.add(fetchScheduler.submit("a.ru", System::nanoTime));
+        }
+
+        List<Long> times = new ArrayList<>();
+        fetches.forEach(fetch -> times.add(fetch.join()));
+        times.sort(Long::compare);
+
+        assertTrue(times.get(1) - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(times.get(2) - start >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void limitsConnectionsPerHost() {
+        fetchScheduler = new FetchScheduler(settings(8, 2, 0));
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<CompletableFuture<Void>> fetches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            fetches.add(fetchScheduler.submit("a.ru", () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                sleep(20);
+                active.decrementAndGet();
+                return null;
+            }));
+        }
+
+        fetches.forEach(CompletableFuture::join);
+
+        assertEquals(2, maxActive.get());
+    }
+
+    @Test
+    void politeHostDoesNotHoldSharedThreads() throws InterruptedException {
+        fetchScheduler = new FetchScheduler(settings(1, 4, 1_000));
+        fetchScheduler.submit("slow.ru", () -> null).join();
+        for (int i = 0; i < 3; i++) {
+            fetchScheduler.submit("slow.ru", () -> null);
+        }
+        CountDownLatch otherHost = new CountDownLatch(1);
+
+        fetchScheduler.submit("fast.ru", () -> {
+            otherHost.countDown();
+            return null;
+        });
+
+        assertTrue(otherHost.await(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void failedFetchCompletesExceptionally() {
+        fetchScheduler = new FetchScheduler(settings(1, 1, 0));
+
+        CompletableFuture<Object> fetch = fetchScheduler.submit("a.ru", () -> {
+            throw new IllegalStateException("сбой");
+        });
+
+        assertThrows(Exception.class, fetch::join);
+        assertEquals("ok", fetchScheduler.submit("a.ru", () -> "ok").join());
+    }
+
+    private static IndexingSettings settings(int maxConnections, int connectionsPerHost, long politenessDelay) {
+        IndexingSettings indexingSettings = new IndexingSettings();
+        indexingSettings.setMaxConnections(maxConnections);
+        indexingSettings.setConnectionsPerHost(connectionsPerHost);
+        indexingSettings.setPolitenessDelay(politenessDelay);
+        return indexingSettings;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
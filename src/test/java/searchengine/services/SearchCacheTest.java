@@ -0,0 +1,101 @@
+package searchengine.services;
+
+import org.junit.jupiter.api.Test;
+import searchengine.config.SearchSettings;
+import searchengine.dto.search.SearchResponse;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchCacheTest {
+    private static final String SITE = "https://example.ru";
+    private static final String OTHER_SITE = "https://other.ru";
+
+    @Test
+    void keyDoesNotDependOnLemmaOrder() {
+        assertEquals(SearchCache.key(Set.of("кот", "пес"), SITE, 0, 20),
+                SearchCache.key(Set.of("пес", "кот"), SITE, 0, 20));
+        assertNotEquals(SearchCache.key(Set.of("кот"), SITE, 0, 20),
+                SearchCache.key(Set.of("кот"), SITE, 20, 20));
+        assertNotEquals(SearchCache.key(Set.of("кот"), SITE, 0, 20),
+                SearchCache.key(Set.of("кот"), "", 0, 20));
+    }
+
+    @Test
+    void returnsResponseStoredForSameVersion() {
+        SearchCache cache = cache(10, 60_000);
+        SearchResponse response = response(3);
+        String key = SearchCache.key(Set.of("кот"), SITE, 0, 20);
+
+        cache.put(key, cache.version(SITE), response);
+
+        assertSame(response, cache.get(key, cache.version(SITE)));
+        assertNull(cache.get(SearchCache.key(Set.of("пес"), SITE, 0, 20), cache.version(SITE)));
+    }
+
+    @Test
+    void invalidatingSiteDropsItsAndAllSitesResponsesOnly() {
+        SearchCache cache = cache(10, 60_000);
+        String siteKey = SearchCache.key(Set.of("кот"), SITE, 0, 20);
+        String otherKey = SearchCache.key(Set.of("кот"), OTHER_SITE, 0, 20);
+        String allKey = SearchCache.key(Set.of("кот"), "", 0, 20);
+        cache.put(siteKey, cache.version(SITE), response(1));
+        cache.put(otherKey, cache.version(OTHER_SITE), response(2));
+        cache.put(allKey, cache.version(""), response(3));
+
+        cache.invalidate(SITE);
+
+        assertNull(cache.get(siteKey, cache.version(SITE)));
+        assertNull(cache.get(allKey, cache.version("")));
+        assertNotNull(cache.get(otherKey, cache.version(OTHER_SITE)));
+    }
+
+    @Test
+    void expiredResponsesAreDropped() throws InterruptedException {
+        SearchCache cache = cache(10, 1);
+        String key = SearchCache.key(Set.of("кот"), SITE, 0, 20);
+        cache.put(key, cache.version(SITE), response(1));
+
+        Thread.sleep(5);
+
+        assertNull(cache.get(key, cache.version(SITE)));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOverLimit() {
+        SearchCache cache = cache(2, 60_000);
+        long version = cache.version(SITE);
+        cache.put("a", version, response(1));
+        cache.put("b", version, response(2));
+        cache.get("a", version);
+
+        cache.put("c", version, response(3));
+
+        assertNotNull(cache.get("a", version));
+        assertNull(cache.get("b", version));
+        assertNotNull(cache.get("c", version));
+    }
+
+    @Test
+    void zeroSizeDisablesCaching() {
+        SearchCache cache = cache(0, 60_000);
+        cache.put("a", cache.version(SITE), response(1));
+
+        assertNull(cache.get("a", cache.version(SITE)));
+    }
+
+    private static SearchCache cache(int size, long ttl) {
+        SearchSettings searchSettings = new SearchSettings();
+        searchSettings.setCacheSize(size);
+        searchSettings.setCacheTtl(ttl);
+        SearchCache cache = new SearchCache(searchSettings);
+        cache.init();
+        return cache;
+    }
+
+    private static SearchResponse response(int count) {
+        return new SearchResponse(List.of(), count);
+    }
+}
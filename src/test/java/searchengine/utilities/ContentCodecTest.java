@@ -0,0 +1,39 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentCodecTest {
+
+    @Test
+    void roundTripKeepsCyrillicAndMarkup() {
+        String html = "<html><head><title>Ёлка</title></head><body><p>Съешь же ещё этих мягких булок</p></body></html>";
+
+        assertEquals(html, ContentCodec.decompress(ContentCodec.compress(html)));
+        assertEquals("", ContentCodec.decompress(ContentCodec.compress("")));
+    }
+
+    @Test
+    void repetitiveTextShrinks() {
+        String text = "индексация страниц сайта ".repeat(2_000);
+
+        byte[] compressed = ContentCodec.compress(text);
+
+        assertTrue(compressed.length * 10 < text.length());
+        assertEquals(text, ContentCodec.decompress(compressed));
+    }
+
+    @Test
+    void nullPassesThrough() {
+        assertNull(ContentCodec.compress(null));
+        assertNull(ContentCodec.decompress(null));
+    }
+
+    @Test
+    void corruptedDataFails() {
+        assertThrows(UncheckedIOException.class, () -> ContentCodec.decompress(new byte[]{1, 2, 3, 4}));
+    }
+}
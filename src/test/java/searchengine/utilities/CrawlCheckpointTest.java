@@ -0,0 +1,92 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import searchengine.dto.crawl.FrontierEntry;
+import searchengine.model.Site;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlCheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void pathIsNamedAfterSiteId() {
+        assertEquals(directory.resolve("site-1.checkpoint"),
+                CrawlCheckpoint.path(directory.toString(), site(1, "https://www.example.ru/")));
+        assertNotEquals(CrawlCheckpoint.path(directory.toString(), site(1, "https://example.ru/blog")),
+                CrawlCheckpoint.path(directory.toString(), site(2, "https://example.ru/shop")));
+    }
+
+    @Test
+    void saveAndLoadRestoreFrontier() throws IOException, InterruptedException {
+        Site site = site(7, "https://example.ru");
+        Path file = CrawlCheckpoint.path(directory.toString(), site);
+        try (UrlFrontier frontier = new UrlFrontier("example.ru", 2, directory.resolve("spill"))) {
+            for (int i = 0; i < 6; i++) {
+                frontier.add("https://example.ru/" + i, 1);
+            }
+            FrontierEntry inProgress = frontier.poll(10, TimeUnit.MILLISECONDS);
+            CrawlCheckpoint.save(file, site, frontier, List.of(inProgress));
+        }
+
+        assertTrue(CrawlCheckpoint.exists(file, site));
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+        try (UrlFrontier restored = new UrlFrontier("example.ru", 2, directory.resolve("spill"))) {
+            CrawlCheckpoint.load(file, site, restored);
+            Set<String> urls = new HashSet<>();
+            FrontierEntry entry;
+            while ((entry = restored.poll(10, TimeUnit.MILLISECONDS)) != null) {
+                urls.add(entry.getUrl());
+            }
+            assertEquals(6, urls.size());
+        }
+    }
+
+    @Test
+    void checkpointOfAnotherSiteIsRejected() throws IOException {
+        Site site = site(7, "https://example.ru");
+        Path file = CrawlCheckpoint.path(directory.toString(), site);
+        try (UrlFrontier frontier = new UrlFrontier("example.ru", 10, directory)) {
+            frontier.add("https://example.ru", 0);
+            CrawlCheckpoint.save(file, site, frontier, List.of());
+        }
+
+        Site recreated = site(8, "https://example.ru");
+        assertFalse(CrawlCheckpoint.exists(file, recreated));
+        try (UrlFrontier frontier = new UrlFrontier("example.ru", 10, directory)) {
+            assertThrows(IOException.class, () -> CrawlCheckpoint.load(file, recreated, frontier));
+        }
+    }
+
+    @Test
+    void deleteAllRemovesOnlyCheckpoints() throws IOException {
+        Files.writeString(directory.resolve("a.ru.checkpoint"), "x");
+        Files.writeString(directory.resolve("b.ru.checkpoint"), "x");
+        Files.writeString(directory.resolve("notes.txt"), "x");
+
+        CrawlCheckpoint.deleteAll(directory.toString());
+
+        assertFalse(Files.exists(directory.resolve("a.ru.checkpoint")));
+        assertFalse(Files.exists(directory.resolve("b.ru.checkpoint")));
+        assertTrue(Files.exists(directory.resolve("notes.txt")));
+        assertFalse(CrawlCheckpoint.exists(directory.resolve("a.ru.checkpoint"), site(1, "https://a.ru")));
+    }
+
+    private static Site site(int id, String url) {
+        Site site = new Site();
+        site.setId(id);
+        site.setUrl(url);
+        return site;
+    }
+}
@@ -0,0 +1,64 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintSetTest {
+
+    @Test
+    void addReportsOnlyFirstInsertion() {
+        FingerprintSet set = new FingerprintSet();
+
+        assertTrue(set.add("/about"));
+        assertFalse(set.add("/about"));
+        assertTrue(set.contains("/about"));
+        assertFalse(set.contains("/contacts"));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void keepsAllValuesAcrossResizes() {
+        FingerprintSet set = new FingerprintSet();
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(set.add("/page/" + i));
+        }
+
+        assertEquals(50_000, set.size());
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(set.contains("/page/" + i));
+        }
+        assertFalse(set.contains("/page/50000"));
+    }
+
+    @Test
+    void writeAndReadRoundTrip() throws IOException {
+        FingerprintSet set = new FingerprintSet();
+        for (int i = 0; i < 5_000; i++) {
+            set.add("/news/" + i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        set.write(new DataOutputStream(bytes));
+
+        FingerprintSet restored = new FingerprintSet();
+        restored.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(5_000, restored.size());
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(restored.contains("/news/" + i));
+        }
+    }
+
+    @Test
+    void fingerprintIsNeverTheEmptyMarker() {
+        assertNotEquals(0L, FingerprintSet.fingerprint(""));
+        assertEquals(FingerprintSet.fingerprint("/a"), FingerprintSet.fingerprint("/a"));
+        assertNotEquals(FingerprintSet.fingerprint("/a"), FingerprintSet.fingerprint("/b"));
+    }
+}
@@ -0,0 +1,46 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionCodecTest {
+
+    @Test
+    void roundTripsSmallDeltasInOneByteEach() {
+        int[] positions = {0, 1, 5, 127, 200};
+        byte[] encoded = PositionCodec.encode(positions);
+
+        assertEquals(5, encoded.length);
+        assertArrayEquals(positions, PositionCodec.decode(encoded));
+    }
+
+    @Test
+    void roundTripsMultiByteDeltas() {
+        int[] positions = {128, 16_511, 2_113_664, Integer.MAX_VALUE};
+
+        assertArrayEquals(positions, PositionCodec.decode(PositionCodec.encode(positions)));
+    }
+
+    @Test
+    void roundTripsRandomSortedPositions() {
+        Random random = new Random(3);
+        for (int round = 0; round < 100; round++) {
+            int[] positions = new int[random.nextInt(200)];
+            int position = 0;
+            for (int i = 0; i < positions.length; i++) {
+                position += random.nextInt(i % 10 == 0 ? 100_000 : 50);
+                positions[i] = position;
+            }
+            assertArrayEquals(positions, PositionCodec.decode(PositionCodec.encode(positions)));
+        }
+    }
+
+    @Test
+    void emptyAndNullDecodeToEmpty() {
+        assertArrayEquals(new int[0], PositionCodec.decode(PositionCodec.encode(new int[0])));
+        assertArrayEquals(new int[0], PositionCodec.decode(null));
+    }
+}
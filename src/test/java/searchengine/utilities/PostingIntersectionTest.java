@@ -0,0 +1,88 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingIntersectionTest {
+
+    private static PostingList of(int... pageIds) {
+        PostingList postingList = new PostingList();
+        for (int pageId : pageIds) {
+            postingList.add(pageId, 1);
+        }
+        return postingList;
+    }
+
+    @Test
+    void emptyInputGivesEmptyResult() {
+        assertArrayEquals(new int[0], PostingIntersection.intersect(List.of()));
+        assertArrayEquals(new int[0], PostingIntersection.intersect(List.of(of(1, 2), new PostingList())));
+    }
+
+    @Test
+    void singleListIsReturnedAsIs() {
+        assertArrayEquals(new int[]{1, 4, 9}, PostingIntersection.intersect(List.of(of(1, 4, 9))));
+    }
+
+    @Test
+    void intersectsListsOfDifferentSizes() {
+        PostingList frequent = of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12);
+        PostingList medium = of(2, 4, 6, 8, 10, 12);
+        PostingList rare = of(4, 11, 12);
+
+        assertArrayEquals(new int[]{4, 12}, PostingIntersection.intersect(List.of(frequent, medium, rare)));
+    }
+
+    @Test
+    void stopsWhenAnyListIsExhausted() {
+        assertArrayEquals(new int[]{3}, PostingIntersection.intersect(List.of(of(3, 50, 60), of(1, 3, 5))));
+        assertArrayEquals(new int[0], PostingIntersection.intersect(List.of(of(10, 20), of(1, 2, 3))));
+    }
+
+    @Test
+    void matchesSetIntersectionOnRandomLists() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<PostingList> postingLists = new ArrayList<>();
+            TreeSet<Integer> expected = null;
+            int lists = 2 + random.nextInt(3);
+            for (int l = 0; l < lists; l++) {
+                TreeSet<Integer> pageIds = new TreeSet<>();
+                int density = 1 + random.nextInt(20);
+                for (int pageId = 0; pageId < 2000; pageId++) {
+                    if (random.nextInt(density) == 0) {
+                        pageIds.add(pageId);
+                    }
+                }
+                PostingList postingList = new PostingList();
+                pageIds.forEach(pageId -> postingList.add(pageId, 1));
+                postingLists.add(postingList);
+                if (expected == null) {
+                    expected = pageIds;
+                } else {
+                    expected.retainAll(pageIds);
+                }
+            }
+            int[] result = PostingIntersection.intersect(postingLists);
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), result);
+        }
+    }
+
+    @Test
+    void interruptedThreadCancelsIntersection() {
+        List<PostingList> postingLists = List.of(of(1, 2), of(2, 3));
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> PostingIntersection.intersect(postingLists));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
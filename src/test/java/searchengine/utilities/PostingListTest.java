@@ -0,0 +1,75 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingListTest {
+
+    private static PostingList of(int... pageIds) {
+        PostingList postingList = new PostingList();
+        for (int pageId : pageIds) {
+            postingList.add(pageId, pageId * 10);
+        }
+        return postingList;
+    }
+
+    private static int[] pageIds(PostingList postingList) {
+        int[] pageIds = new int[postingList.size()];
+        for (int i = 0; i < pageIds.length; i++) {
+            pageIds[i] = postingList.pageId(i);
+        }
+        return pageIds;
+    }
+
+    @Test
+    void addKeepsPageIdsSortedAndUpdatesExistingRank() {
+        PostingList postingList = of(5, 1, 9, 3);
+        postingList.add(3, 7);
+
+        assertArrayEquals(new int[]{1, 3, 5, 9}, pageIds(postingList));
+        assertEquals(7, postingList.rankOf(3));
+        assertEquals(50, postingList.rankOf(5));
+        assertEquals(0, postingList.rankOf(4));
+    }
+
+    @Test
+    void removeShiftsRemainingEntries() {
+        PostingList postingList = of(1, 2, 3);
+
+        assertTrue(postingList.remove(2));
+        assertFalse(postingList.remove(2));
+        assertArrayEquals(new int[]{1, 3}, pageIds(postingList));
+        assertEquals(30, postingList.rankOf(3));
+    }
+
+    @Test
+    void advanceFindsFirstPositionNotBelowTarget() {
+        PostingList postingList = new PostingList();
+        for (int pageId = 0; pageId < 1000; pageId += 2) {
+            postingList.add(pageId, 1);
+        }
+
+        for (int target = -1; target <= 1001; target++) {
+            int expected = target <= 0 ? 0 : Math.min((target + 1) / 2, postingList.size());
+            for (int from = 0; from <= expected; from += 37) {
+                assertEquals(expected, postingList.advance(from, target), "from " + from + " target " + target);
+            }
+        }
+    }
+
+    @Test
+    void advanceNeverMovesBackwards() {
+        PostingList postingList = of(1, 2, 3, 4, 5);
+
+        assertEquals(3, postingList.advance(3, 1));
+        assertEquals(5, postingList.advance(5, 1));
+    }
+
+    @Test
+    void advanceOnSingleAndEmptyList() {
+        assertEquals(0, new PostingList().advance(0, 10));
+        assertEquals(0, of(7).advance(0, 7));
+        assertEquals(1, of(7).advance(0, 8));
+    }
+}
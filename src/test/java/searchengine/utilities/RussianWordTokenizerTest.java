@@ -0,0 +1,67 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RussianWordTokenizerTest {
+
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        int count = RussianWordTokenizer.tokenize(text, (word, position, start, end) -> {
+            assertEquals(tokens.size(), position);
+            tokens.add(word + "@" + start + "-" + end);
+        });
+        assertEquals(tokens.size(), count);
+        return tokens;
+    }
+
+    @Test
+    void singleWordIsEmitted() {
+        assertEquals(List.of("слово@0-5"), tokens("слово"));
+    }
+
+    @Test
+    void lastWordIsEmitted() {
+        assertEquals(List.of("привет@0-6", "мир@7-10"), tokens("привет мир"));
+    }
+
+    @Test
+    void punctuationAndNonRussianCharactersSplitWords() {
+        assertEquals(List.of("один@0-4", "два@6-9", "три@16-19"), tokens("Один, два (abc) три!"));
+        assertEquals(List.of("кто@0-3", "то@4-6"), tokens("кто-то"));
+    }
+
+    @Test
+    void wordsAreLowerCasedAndYoIsFolded() {
+        assertEquals(List.of("еж@0-2", "елка@3-7"), tokens("ЁЖ ёлка"));
+    }
+
+    @Test
+    void emptyAndNonRussianTextHasNoTokens() {
+        assertEquals(List.of(), tokens(""));
+        assertEquals(List.of(), tokens("hello 123 ..."));
+    }
+
+    @Test
+    void longWordsGrowTheBuffer() {
+        String word = "а".repeat(100);
+        assertEquals(List.of(word + "@1-101"), tokens(" " + word));
+    }
+
+    @Test
+    void locateAgreesWithTokenize() {
+        String text = "Ёлка, привет! Мир да";
+        List<int[]> offsets = new ArrayList<>();
+        RussianWordTokenizer.tokenize(text, (word, position, start, end) -> offsets.add(new int[]{start, end}));
+
+        int[] located = RussianWordTokenizer.locate(text, 0, offsets.size() - 1);
+        for (int position = 0; position < offsets.size(); position++) {
+            assertArrayEquals(offsets.get(position), new int[]{located[position * 2], located[position * 2 + 1]});
+        }
+        assertArrayEquals(new int[]{-1, -1}, RussianWordTokenizer.locate(text, 4, 4));
+    }
+}
@@ -0,0 +1,46 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnippetBuilderTest {
+
+    @Test
+    void highlightsEveryHitInShortText() {
+        String text = "Кошка спит на окне, кошка любит солнце.";
+
+        String snippet = SnippetBuilder.build(text, List.of(new int[]{0, 4}, new int[]{6}));
+
+        assertEquals("<b>Кошка</b> спит на окне, <b>кошка</b> любит <b>солнце</b>.", snippet);
+    }
+
+    @Test
+    void choosesWindowCoveringMostLemmas() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append(i == 10 || i == 70 ? "кот " : i == 72 ? "пес " : "слово ");
+        }
+
+        String snippet = SnippetBuilder.build(text.toString().trim(), List.of(new int[]{10, 70}, new int[]{72}), 10);
+
+        assertTrue(snippet.startsWith("... "));
+        assertTrue(snippet.endsWith(" ..."));
+        assertTrue(snippet.contains("<b>кот</b> слово <b>пес</b>"));
+        assertEquals(1, snippet.split("<b>кот</b>", -1).length - 1);
+    }
+
+    @Test
+    void noHitsOrNoTextGiveEmptySnippet() {
+        assertEquals("", SnippetBuilder.build("текст", List.of()));
+        assertEquals("", SnippetBuilder.build("текст", List.of(new int[0])));
+        assertEquals("", SnippetBuilder.build(null, List.of(new int[]{0})));
+    }
+
+    @Test
+    void positionsBeyondTextGiveEmptySnippet() {
+        assertEquals("", SnippetBuilder.build("одно слово", List.of(new int[]{50})));
+    }
+}
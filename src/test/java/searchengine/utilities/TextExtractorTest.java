@@ -0,0 +1,38 @@
+package searchengine.utilities;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+import searchengine.model.Page;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextExtractorTest {
+
+    @Test
+    void fillPageTakesTitleVisibleTextAndHash() {
+        Document document = Jsoup.parse("<html><head><title>Заголовок</title><script>var x = 1;</script></head>" +
+                "<body><h1>Новости</h1><p>Первый <b>абзац</b>.</p><script>alert(1)</script></body></html>");
+        Page page = new Page();
+
+        TextExtractor.fillPage(page, document);
+
+        assertEquals("Заголовок", page.getTitle());
+        assertEquals("Новости Первый абзац.", page.getText());
+        assertEquals(TextExtractor.hash("Новости Первый абзац."), page.getContentHash());
+    }
+
+    @Test
+    void longTitleIsTruncated() {
+        Document document = Jsoup.parse("<title>" + "я".repeat(300) + "</title>");
+
+        assertEquals(255, TextExtractor.extractTitle(document).length());
+    }
+
+    @Test
+    void hashIsStableSha256Hex() {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", TextExtractor.hash(""));
+        assertEquals(TextExtractor.hash("текст"), TextExtractor.hash("текст"));
+        assertNotEquals(TextExtractor.hash("текст"), TextExtractor.hash("текст "));
+    }
+}
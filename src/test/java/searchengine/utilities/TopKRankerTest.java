@@ -0,0 +1,109 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+import searchengine.dto.search.RankedPage;
+import searchengine.dto.search.RankingResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKRankerTest {
+
+    private static List<PostingList> postings(int[] pageIds, int[]... ranks) {
+        List<PostingList> postingLists = new ArrayList<>();
+        for (int[] lemmaRanks : ranks) {
+            PostingList postingList = new PostingList();
+            for (int i = 0; i < pageIds.length; i++) {
+                postingList.add(pageIds[i], lemmaRanks[i]);
+            }
+            postingLists.add(postingList);
+        }
+        return postingLists;
+    }
+
+    private static int[] pageIds(RankingResult result) {
+        return result.getPages().stream().mapToInt(RankedPage::getPageId).toArray();
+    }
+
+    @Test
+    void ranksBySummedRankThenPageId() {
+        int[] pageIds = {1, 2, 3, 4};
+        List<PostingList> postingLists = postings(pageIds, new int[]{1, 5, 2, 3}, new int[]{1, 1, 2, 3});
+
+        RankingResult result = TopKRanker.rank(pageIds, postingLists, 0, 10);
+
+        assertArrayEquals(new int[]{2, 4, 3, 1}, pageIds(result));
+        assertEquals(4, result.getCount());
+        assertEquals(6, result.getMaxAbsRelevance());
+        assertEquals(1.0f, result.getPages().get(0).getRelevance());
+        assertEquals(2 / 6f, result.getPages().get(3).getRelevance());
+    }
+
+    @Test
+    void offsetAndLimitKeepCountAndMaxRelevanceOfAllPages() {
+        int[] pageIds = {1, 2, 3, 4, 5};
+        List<PostingList> postingLists = postings(pageIds, new int[]{5, 4, 3, 2, 1});
+
+        RankingResult result = TopKRanker.rank(pageIds, postingLists, 1, 2);
+
+        assertArrayEquals(new int[]{2, 3}, pageIds(result));
+        assertEquals(5, result.getCount());
+        assertEquals(5, result.getMaxAbsRelevance());
+        assertEquals(4 / 5f, result.getPages().get(0).getRelevance());
+    }
+
+    @Test
+    void zeroLimitOnlyCounts() {
+        int[] pageIds = {1, 2};
+        RankingResult result = TopKRanker.rank(pageIds, postings(pageIds, new int[]{3, 4}), 0, 0);
+
+        assertTrue(result.getPages().isEmpty());
+        assertEquals(2, result.getCount());
+        assertEquals(4, result.getMaxAbsRelevance());
+    }
+
+    @Test
+    void tiesAreBrokenByPageId() {
+        int[] pageIds = {7, 3, 5};
+        RankingResult result = TopKRanker.rank(pageIds, postings(new int[]{3, 5, 7}, new int[]{2, 2, 2}), 0, 2);
+
+        assertArrayEquals(new int[]{3, 5}, pageIds(result));
+    }
+
+    @Test
+    void matchesFullSortOnRandomInput() {
+        Random random = new Random(11);
+        int[] pageIds = new int[500];
+        int[] ranks = new int[pageIds.length];
+        for (int i = 0; i < pageIds.length; i++) {
+            pageIds[i] = i * 3;
+            ranks[i] = random.nextInt(50);
+        }
+        List<PostingList> postingLists = postings(pageIds, ranks);
+        List<RankedPage> all = new ArrayList<>();
+        for (int i = 0; i < pageIds.length; i++) {
+            all.add(new RankedPage(pageIds[i], ranks[i]));
+        }
+        all.sort(TopKRanker.BY_RELEVANCE);
+
+        RankingResult result = TopKRanker.rank(pageIds, postingLists, 10, 25);
+
+        assertArrayEquals(all.subList(10, 35).stream().mapToInt(RankedPage::getPageId).toArray(), pageIds(result));
+    }
+
+    @Test
+    void interruptedThreadCancelsRanking() {
+        int[] pageIds = {1, 2};
+        List<PostingList> postingLists = postings(pageIds, new int[]{1, 1});
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> TopKRanker.rank(pageIds, postingLists, 0, 10));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlCanonicalizerTest {
+
+    @Test
+    void lowercasesSchemeAndHostAndDropsDefaultPort() {
+        assertEquals("https://example.ru/News",
+                UrlCanonicalizer.canonicalize("HTTPS://Example.RU:443/News").toString());
+        assertEquals("http://example.ru:8080/a",
+                UrlCanonicalizer.canonicalize("http://example.ru:8080/a").toString());
+    }
+
+    @Test
+    void dropsFragmentAndDotSegmentsButKeepsTrailingSlash() {
+        assertEquals("https://example.ru/a/c/",
+                UrlCanonicalizer.canonicalize(" https://example.ru/a/b/../c/#top ").toString());
+        assertEquals("https://example.ru/",
+                UrlCanonicalizer.canonicalize("https://example.ru/").toString());
+    }
+
+    @Test
+    void keyIgnoresTrailingSlash() {
+        assertEquals("https://example.ru/a", UrlCanonicalizer.key("https://example.ru/a/"));
+        assertEquals("https://example.ru/a", UrlCanonicalizer.key("https://example.ru/a"));
+        assertEquals("https://example.ru", UrlCanonicalizer.key("https://example.ru/"));
+        assertEquals("https://example.ru/list?page=2", UrlCanonicalizer.key("https://example.ru/list/?page=2"));
+    }
+
+    @Test
+    void sortsQueryAndRemovesTrackingParameters() {
+        assertEquals("https://example.ru/list?a=1&page=2",
+                UrlCanonicalizer.canonicalize("https://example.ru/list?page=2&utm_source=x&a=1&fbclid=y&&").toString());
+        assertEquals("https://example.ru/list",
+                UrlCanonicalizer.canonicalize("https://example.ru/list?UTM_MEDIUM=mail&gclid=1").toString());
+    }
+
+    @Test
+    void rejectsRelativeAndMalformedUrls() {
+        assertNull(UrlCanonicalizer.canonicalize("/relative/path"));
+        assertNull(UrlCanonicalizer.canonicalize("mailto:user@example.ru"));
+        assertNull(UrlCanonicalizer.canonicalize("https://example.ru/a b"));
+    }
+
+    @Test
+    void hostKeyIgnoresCaseAndWwwPrefix() {
+        assertEquals("example.ru", UrlCanonicalizer.hostKey("WWW.Example.ru"));
+        assertEquals("example.ru", UrlCanonicalizer.hostKey("example.ru"));
+    }
+}
@@ -0,0 +1,84 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+import searchengine.config.SiteUrlName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlFilterTest {
+
+    @Test
+    void keepsSameSiteLinksInCanonicalForm() {
+        UrlFilter filter = new UrlFilter(site("https://www.example.ru/"));
+
+        assertEquals("https://www.example.ru/", filter.root());
+        assertEquals("https://www.example.ru/news/1/", filter.apply("https://example.ru/news/1/#comments"));
+        assertEquals("https://www.example.ru/about", filter.apply("HTTPS://WWW.EXAMPLE.RU:443/about"));
+    }
+
+    @Test
+    void rejectsForeignHostsSchemesAndPorts() {
+        UrlFilter filter = new UrlFilter(site("https://example.ru"));
+
+        assertNull(filter.apply("https://other.ru/news"));
+        assertNull(filter.apply("https://sub.example.ru/news"));
+        assertNull(filter.apply("ftp://example.ru/file"));
+        assertNull(filter.apply("https://example.ru:8443/news"));
+        assertNull(filter.apply("javascript:void(0)"));
+        assertNull(filter.apply(""));
+        assertNull(filter.apply(null));
+    }
+
+    @Test
+    void rejectsFilesAndQueriesUnlessAllowed() {
+        UrlFilter filter = new UrlFilter(site("https://example.ru"));
+        SiteUrlName withQuery = site("https://example.ru");
+        withQuery.setAllowQuery(true);
+        UrlFilter queryFilter = new UrlFilter(withQuery);
+
+        assertNull(filter.apply("https://example.ru/img/logo.PNG"));
+        assertNull(filter.apply("https://example.ru/docs/price.pdf"));
+        assertEquals("https://example.ru/v1.2/notes", filter.apply("https://example.ru/v1.2/notes"));
+        assertNull(filter.apply("https://example.ru/search?q=1"));
+        assertEquals("https://example.ru/search?q=1", queryFilter.apply("https://example.ru/search?utm_source=x&q=1"));
+        assertEquals("https://example.ru/search", filter.apply("https://example.ru/search?utm_source=x"));
+    }
+
+    @Test
+    void staysWithinSitePath() {
+        UrlFilter filter = new UrlFilter(site("https://example.ru/blog/"));
+
+        assertEquals("https://example.ru/blog/", filter.root());
+        assertEquals("https://example.ru/blog", filter.apply("https://example.ru/blog"));
+        assertEquals("https://example.ru/blog/", filter.apply("https://example.ru/blog/"));
+        assertEquals("https://example.ru/blog/post", filter.apply("https://example.ru/blog/post"));
+        assertNull(filter.apply("https://example.ru/blog-old/post"));
+        assertNull(filter.apply("https://example.ru/shop"));
+    }
+
+    @Test
+    void appliesIncludeAndExcludePatterns() {
+        SiteUrlName siteUrlName = site("https://example.ru");
+        siteUrlName.setInclude(List.of("^/news"));
+        siteUrlName.setExclude(List.of("/print$"));
+        UrlFilter filter = new UrlFilter(siteUrlName);
+
+        assertEquals("https://example.ru/news/1", filter.apply("https://example.ru/news/1"));
+        assertNull(filter.apply("https://example.ru/news/1/print"));
+        assertNull(filter.apply("https://example.ru/shop/1"));
+    }
+
+    @Test
+    void rejectsMalformedSiteUrl() {
+        assertThrows(IllegalArgumentException.class, () -> new UrlFilter(site("example.ru")));
+    }
+
+    private static SiteUrlName site(String url) {
+        SiteUrlName siteUrlName = new SiteUrlName();
+        siteUrlName.setUrl(url);
+        siteUrlName.setName("Пример");
+        return siteUrlName;
+    }
+}
@@ -0,0 +1,137 @@
+package searchengine.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import searchengine.dto.crawl.FrontierEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlFrontierTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void skipsAlreadyVisitedUrls() throws InterruptedException {
+        try (UrlFrontier frontier = new UrlFrontier("test", 10, spillDirectory)) {
+            assertTrue(frontier.add("/", 0));
+            assertFalse(frontier.add("/", 1));
+            assertEquals(1, frontier.size());
+
+            FrontierEntry entry = frontier.poll(10, TimeUnit.MILLISECONDS);
+            assertEquals("/", entry.getUrl());
+            assertFalse(frontier.add("/", 2));
+            assertTrue(frontier.isEmpty());
+            assertNull(frontier.poll(10, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void treatsTrailingSlashVariantsAsOneUrl() throws InterruptedException {
+        try (UrlFrontier frontier = new UrlFrontier("test", 10, spillDirectory)) {
+            assertTrue(frontier.add("https://example.ru/news/", 1));
+            assertFalse(frontier.add("https://example.ru/news", 1));
+
+            assertEquals("https://example.ru/news/", frontier.poll(10, TimeUnit.MILLISECONDS).getUrl());
+            assertTrue(frontier.isEmpty());
+        }
+    }
+
+    @Test
+    void pollsShallowerEntriesFirst() throws InterruptedException {
+        try (UrlFrontier frontier = new UrlFrontier("test", 10, spillDirectory)) {
+            frontier.add("/deep", 3);
+            frontier.add("/", 0);
+            frontier.add("/mid", 1);
+
+            assertEquals("/", frontier.poll(10, TimeUnit.MILLISECONDS).getUrl());
+            assertEquals("/mid", frontier.poll(10, TimeUnit.MILLISECONDS).getUrl());
+            assertEquals("/deep", frontier.poll(10, TimeUnit.MILLISECONDS).getUrl());
+        }
+    }
+
+    @Test
+    void spillsOverLimitAndRefillsEverything() throws InterruptedException, IOException {
+        try (UrlFrontier frontier = new UrlFrontier("test", 4, spillDirectory)) {
+            for (int i = 0; i < 20; i++) {
+                frontier.add("/page/" + i, 1);
+            }
+            assertEquals(20, frontier.size());
+            assertEquals(1, countFiles());
+
+            Set<String> polled = new HashSet<>();
+            FrontierEntry entry;
+            while ((entry = frontier.poll(10, TimeUnit.MILLISECONDS)) != null) {
+                polled.add(entry.getUrl());
+            }
+
+            assertEquals(20, polled.size());
+            assertTrue(frontier.isEmpty());
+            assertEquals(0, frontier.size());
+            assertEquals(0, countFiles());
+        }
+    }
+
+    @Test
+    void clearForgetsQueuedSpilledAndVisitedUrls() throws InterruptedException, IOException {
+        try (UrlFrontier frontier = new UrlFrontier("test", 2, spillDirectory)) {
+            for (int i = 0; i < 5; i++) {
+                frontier.add("/page/" + i, 1);
+            }
+
+            frontier.clear();
+
+            assertTrue(frontier.isEmpty());
+            assertEquals(0, countFiles());
+            assertTrue(frontier.add("/page/0", 0));
+            assertEquals("/page/0", frontier.poll(10, TimeUnit.MILLISECONDS).getUrl());
+        }
+    }
+
+    @Test
+    void writeAndReadKeepInProgressQueuedAndSpilledEntries() throws InterruptedException, IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (UrlFrontier frontier = new UrlFrontier("test", 3, spillDirectory)) {
+            for (int i = 0; i < 10; i++) {
+                frontier.add("/page/" + i, 1);
+            }
+            FrontierEntry inProgress = frontier.poll(10, TimeUnit.MILLISECONDS);
+            frontier.write(new DataOutputStream(bytes), List.of(inProgress));
+        }
+
+        try (UrlFrontier restored = new UrlFrontier("test", 3, spillDirectory)) {
+            restored.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+            assertEquals(10, restored.size());
+            for (int i = 0; i < 10; i++) {
+                assertFalse(restored.add("/page/" + i, 2));
+            }
+            Set<String> polled = new HashSet<>();
+            FrontierEntry entry;
+            while ((entry = restored.poll(10, TimeUnit.MILLISECONDS)) != null) {
+                assertEquals(1, entry.getDepth());
+                polled.add(entry.getUrl());
+            }
+            assertEquals(10, polled.size());
+        }
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.count();
+        }
+    }
+}